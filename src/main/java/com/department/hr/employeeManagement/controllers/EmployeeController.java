@@ -5,18 +5,36 @@ import com.department.hr.employeeManagement.exceptions.BadInputException;
 import com.department.hr.employeeManagement.exceptions.DuplicateDataException;
 import com.department.hr.employeeManagement.exceptions.FileFormatException;
 import com.department.hr.employeeManagement.exceptions.InvalidFieldException;
+import com.department.hr.employeeManagement.input.EmployeeLookup;
 import com.department.hr.employeeManagement.input.UpdateEmployee;
+import com.department.hr.employeeManagement.service.BulkLoadService;
+import com.department.hr.employeeManagement.service.BulkMutationService;
+import com.department.hr.employeeManagement.service.EmployeeLookupService;
 import com.department.hr.employeeManagement.service.EmployeeService;
+import com.department.hr.employeeManagement.service.EmployeeStreamService;
+import com.department.hr.employeeManagement.service.EmployeeUploadService;
+import com.department.hr.employeeManagement.service.RosterSyncService;
+import com.department.hr.employeeManagement.service.UploadJobService;
+import com.department.hr.employeeManagement.validators.EmployeeValidator;
+import com.department.hr.employeeManagement.vo.BulkLoadReport;
+import com.department.hr.employeeManagement.vo.FieldResults;
 import com.department.hr.employeeManagement.vo.Results;
+import com.department.hr.employeeManagement.vo.UploadSummary;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @Slf4j
@@ -28,9 +46,48 @@ public class EmployeeController {
     @Autowired
     private final EmployeeService service;
 
+    @Autowired
+    private final EmployeeUploadService uploadService;
+
+    @Autowired
+    private final UploadJobService uploadJobService;
+
+    @Autowired
+    private final RosterSyncService rosterSyncService;
+
+    @Autowired
+    private final BulkLoadService bulkLoadService;
+
+    @Autowired
+    private final EmployeeStreamService streamService;
+
+    @Autowired
+    private final EmployeeLookupService lookupService;
+
+    @Autowired
+    private final BulkMutationService bulkMutationService;
+
     @PostMapping("/upload")
-    public ResponseEntity uploadCSV(@RequestParam("file") MultipartFile file) throws FileFormatException, IOException, DuplicateDataException, BadInputException {
+    public ResponseEntity uploadCSV(@RequestParam("file") MultipartFile file,
+                                    @RequestParam(required = false, name = "streaming", defaultValue = "false") Boolean streaming,
+                                    @RequestParam(required = false, name = "async", defaultValue = "false") Boolean async,
+                                    @RequestParam(required = false, name = "sync", defaultValue = "false") Boolean sync,
+                                    @RequestParam(required = false, name = "bulk", defaultValue = "false") Boolean bulk) throws FileFormatException, IOException, DuplicateDataException, BadInputException, InvalidFieldException {
         log.info("Received request for upload");
+        if (sync) {
+            return ResponseEntity.ok(rosterSyncService.sync(file));
+        }
+        if (bulk) {
+            final BulkLoadReport report = bulkLoadService.load(file);
+            return ResponseEntity.status(report.getInserted() + report.getUpdated() > 0 ? 201 : 200).body(report);
+        }
+        if (async) {
+            return ResponseEntity.accepted().body(uploadJobService.submit(file));
+        }
+        if (streaming) {
+            final UploadSummary summary = uploadService.uploadInChunks(file);
+            return ResponseEntity.status(summary.getAccepted() > 0 ? 201 : 200).body(summary);
+        }
         final List employeesSaved = service.uploadData(file);
         if (employeesSaved.size() > 0) {
             return ResponseEntity.status(201).body("Data created or uploaded successfully");
@@ -38,20 +95,127 @@ public class EmployeeController {
         return ResponseEntity.status(200).body("Success but no data updated");
     }
 
+    @GetMapping("/upload/jobs")
+    public ResponseEntity getUploadJobs() {
+        return ResponseEntity.ok(uploadJobService.getStatuses());
+    }
+
+    @GetMapping("/upload/jobs/{jobId}")
+    public ResponseEntity getUploadJob(@PathVariable("jobId") String jobId) throws BadInputException {
+        return ResponseEntity.ok(uploadJobService.getStatus(jobId));
+    }
+
     @GetMapping
     public ResponseEntity getEmployees(@RequestParam(required = false, name = "minSalary", defaultValue = "0") Double minSalary,
                                        @RequestParam(required = false, name = "maxSalary", defaultValue = "4000.00") Double maxSalary,
                                        @RequestParam(required = false, name = "offset", defaultValue = "0") Integer offset,
                                        @RequestParam(required = false, name = "limit", defaultValue = "0") Integer limit,
-                                       @RequestParam(required = false, name = "orderByfieldAndDirection", defaultValue = "id-asc") String sortFieldsAndDirection) {
+                                       @RequestParam(required = false, name = "orderByfieldAndDirection", defaultValue = "id-asc") String sortFieldsAndDirection,
+                                       @RequestParam(required = false, name = "continuationToken") String continuationToken,
+                                       @RequestParam(required = false, name = "includeTotal", defaultValue = "false") Boolean includeTotal,
+                                       @RequestParam(required = false, name = "fields") String fields) throws BadInputException {
 
+        if (fields != null) {
+            if (continuationToken != null) {
+                throw new BadInputException("continuationToken is not supported with fields, use offset and limit");
+            }
+            final FieldResults fieldResults = new FieldResults();
+            fieldResults.setResults(service.fetchEmployeeFields(minSalary, maxSalary, offset, limit, sortFieldsAndDirection, fields));
+            if (includeTotal) {
+                fieldResults.setTotal(service.countEmployees(minSalary, maxSalary));
+            }
+            return ResponseEntity.ok(fieldResults);
+        }
         List<Employee> employeeList;
-        employeeList = service.fetchEmployees(minSalary, maxSalary, offset, limit, sortFieldsAndDirection);
-        return ResponseEntity.ok(createResponse(employeeList));
+        if (continuationToken != null) {
+            employeeList = service.fetchEmployeesAfter(minSalary, maxSalary, continuationToken, limit, sortFieldsAndDirection);
+        } else {
+            employeeList = service.fetchEmployees(minSalary, maxSalary, offset, limit, sortFieldsAndDirection);
+        }
+        final Results results = createResponse(employeeList);
+        if (limit > 0 && employeeList.size() == limit) {
+            results.setNext(service.getContinuationToken(employeeList.get(limit - 1), sortFieldsAndDirection));
+        }
+        if (includeTotal) {
+            results.setTotal(service.countEmployees(minSalary, maxSalary));
+        }
+        return ResponseEntity.ok(results);
+    }
+
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamEmployees(@RequestParam(required = false, name = "minSalary", defaultValue = "0") Double minSalary,
+                                                                 @RequestParam(required = false, name = "maxSalary", defaultValue = "4000.00") Double maxSalary,
+                                                                 @RequestParam(required = false, name = "offset", defaultValue = "0") Integer offset,
+                                                                 @RequestParam(required = false, name = "limit", defaultValue = "0") Integer limit,
+                                                                 @RequestParam(required = false, name = "orderByfieldAndDirection", defaultValue = "id-asc") String sortFieldsAndDirection,
+                                                                 @RequestParam(required = false, name = "continuationToken") String continuationToken) throws BadInputException {
+        rejectContinuationToken(continuationToken);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(streamService.results(minSalary, maxSalary, offset, limit, sortFieldsAndDirection));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployeesAsNdjson(@RequestParam(required = false, name = "minSalary", defaultValue = "0") Double minSalary,
+                                                                         @RequestParam(required = false, name = "maxSalary", defaultValue = "4000.00") Double maxSalary,
+                                                                         @RequestParam(required = false, name = "offset", defaultValue = "0") Integer offset,
+                                                                         @RequestParam(required = false, name = "limit", defaultValue = "0") Integer limit,
+                                                                         @RequestParam(required = false, name = "orderByfieldAndDirection", defaultValue = "id-asc") String sortFieldsAndDirection,
+                                                                         @RequestParam(required = false, name = "continuationToken") String continuationToken) throws BadInputException {
+        rejectContinuationToken(continuationToken);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(streamService.ndjson(minSalary, maxSalary, offset, limit, sortFieldsAndDirection));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(@RequestParam(required = false, name = "minSalary", defaultValue = "0") Double minSalary,
+                                                                 @RequestParam(required = false, name = "maxSalary", defaultValue = "4000.00") Double maxSalary,
+                                                                 @RequestParam(required = false, name = "orderByfieldAndDirection", defaultValue = "id-asc") String sortFieldsAndDirection,
+                                                                 @RequestParam(required = false, name = "gzip", defaultValue = "false") Boolean gzip) {
+        final String fileName = gzip ? "employees.csv.gz" : "employees.csv";
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.parseMediaType(EmployeeValidator.CONTENT_TYPE_TEXT_CSV))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(streamService.csv(minSalary, maxSalary, sortFieldsAndDirection, gzip));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity bulkMutation(InputStream operations) throws IOException, BadInputException {
+        return ResponseEntity.ok(bulkMutationService.apply(operations));
+    }
+
+    @PostMapping("/lookup")
+    public ResponseEntity lookupEmployees(@Valid @RequestBody EmployeeLookup lookup) throws BadInputException {
+        return ResponseEntity.ok(lookupService.lookup(lookup.getIds()));
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity getListingCacheStats() {
+        return ResponseEntity.ok(service.getListingCacheStats());
+    }
+
+    @GetMapping("/cache/lookup/stats")
+    public ResponseEntity getLookupCacheStats() {
+        return ResponseEntity.ok(service.getLookupCacheStats());
+    }
+
+    @GetMapping("/coalescing/stats")
+    public ResponseEntity getCoalescingStats() {
+        return ResponseEntity.ok(service.getCoalescingStats());
+    }
+
+    @GetMapping("/group-commit/stats")
+    public ResponseEntity getGroupCommitStats() {
+        return ResponseEntity.ok(service.getGroupCommitStats());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity getEmployee(@PathVariable("id") String id) throws BadInputException {
+    public ResponseEntity getEmployee(@PathVariable("id") String id,
+                                      @RequestParam(required = false, name = "fields") String fields) throws BadInputException {
+        if (fields != null) {
+            return ResponseEntity.ok(service.getEmployeeFieldsById(id, fields));
+        }
         Employee employee = service.getEmployeeById(id);
         return ResponseEntity.ok(employee);
     }
@@ -68,12 +232,29 @@ public class EmployeeController {
         return ResponseEntity.ok("Successfully updated");
     }
 
+    @PatchMapping("/{id}")
+    public ResponseEntity patchEmployee(@PathVariable("id") String id, @RequestBody UpdateEmployee employee) throws BadInputException, InvalidFieldException {
+        if (!service.patchEmployee(id, employee)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("No such employee");
+        }
+        return ResponseEntity.ok("Successfully updated");
+    }
+
     @DeleteMapping("{id}")
     public ResponseEntity deleteEmployee(@PathVariable("id") String id) throws BadInputException {
         service.deleteEmployee(id);
         return ResponseEntity.ok("Successfully deleted");
     }
 
+    /**
+     * Streamed listings are paged with offset and limit only.
+     */
+    private static void rejectContinuationToken(String continuationToken) throws BadInputException {
+        if (continuationToken != null) {
+            throw new BadInputException("continuationToken is not supported when streaming, use offset and limit");
+        }
+    }
+
     private Results createResponse(List<Employee> employeeList) {
         Results results = new Results();
         results.setResults(employeeList);
@@ -5,6 +5,7 @@ import com.department.hr.employeeManagement.exceptions.DuplicateDataException;
 import com.department.hr.employeeManagement.exceptions.FileFormatException;
 import com.department.hr.employeeManagement.exceptions.InvalidFieldException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -13,12 +14,16 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.multipart.support.MissingServletRequestPartException;
 
 import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @ControllerAdvice
 @Slf4j
 public class ExceptionHandlingController {
 
+    private static final String RETRY_AFTER_SECONDS = "30";
+
     @ExceptionHandler({BadInputException.class, MissingServletRequestPartException.class, InvalidFieldException.class, RuntimeException.class, FileFormatException.class, DuplicateDataException.class})
     public ResponseEntity badInputErrorHandler(Exception e) {
         String localizedMessage = e.getLocalizedMessage();
@@ -42,6 +47,11 @@ public class ExceptionHandlingController {
         return ResponseEntity.badRequest().body(message);
     }
 
+    @ExceptionHandler({RejectedExecutionException.class, CancellationException.class})
+    public ResponseEntity serviceUnavailableHandler(RuntimeException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS).body(e.getMessage());
+    }
+
     @ExceptionHandler({IOException.class, Exception.class})
     public ResponseEntity internalServerErrorHandler(Exception e) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR.value()).body(e.getMessage());
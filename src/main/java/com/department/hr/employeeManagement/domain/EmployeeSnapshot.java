@@ -0,0 +1,267 @@
+package com.department.hr.employeeManagement.domain;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Immutable, column oriented copy of the employee table. Rows are kept in id order; {@code bySalary} is the
+ * permutation of rows ordered by salary (then id) and {@code sortedSalaries} the salaries in that order, so a salary
+ * range is found with two binary searches. Changes produce a new snapshot and leave this one untouched.
+ */
+public final class EmployeeSnapshot {
+
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private final long generation;
+    private final String[] ids;
+    private final String[] logins;
+    private final String[] names;
+    private final double[] salaries;
+    private final long[] startDays;
+    private final int[] bySalary;
+    private final double[] sortedSalaries;
+
+    private EmployeeSnapshot(long generation, String[] ids, String[] logins, String[] names, double[] salaries, long[] startDays,
+                             int[] bySalary, double[] sortedSalaries) {
+        this.generation = generation;
+        this.ids = ids;
+        this.logins = logins;
+        this.names = names;
+        this.salaries = salaries;
+        this.startDays = startDays;
+        this.bySalary = bySalary;
+        this.sortedSalaries = sortedSalaries;
+    }
+
+    /**
+     * @param employeesOrderedById all employees in ascending id order.
+     */
+    public static EmployeeSnapshot of(long generation, Iterator<Employee> employeesOrderedById) {
+        final List<Employee> employees = new ArrayList<>();
+        employeesOrderedById.forEachRemaining(employees::add);
+        final int n = employees.size();
+        final String[] ids = new String[n];
+        final String[] logins = new String[n];
+        final String[] names = new String[n];
+        final double[] salaries = new double[n];
+        final long[] startDays = new long[n];
+        for (int i = 0; i < n; i++) {
+            final Employee employee = employees.get(i);
+            ids[i] = employee.getId();
+            logins[i] = employee.getLogin();
+            names[i] = employee.getName();
+            salaries[i] = employee.getSalary();
+            startDays[i] = toDay(employee.getStartDate());
+        }
+        final int[] bySalary = Arrays.stream(sortedRows(n, (a, b) -> {
+            final int bySalaryValue = Double.compare(salaries[a], salaries[b]);
+            return bySalaryValue != 0 ? bySalaryValue : Integer.compare(a, b);
+        })).mapToInt(Integer::intValue).toArray();
+        final double[] sortedSalaries = new double[n];
+        for (int i = 0; i < n; i++) {
+            sortedSalaries[i] = salaries[bySalary[i]];
+        }
+        return new EmployeeSnapshot(generation, ids, logins, names, salaries, startDays, bySalary, sortedSalaries);
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Employees with {@code minSalary <= salary < maxSalary} in the given order, rows with equal sort values being
+     * ordered by id.
+     *
+     * @param limit the maximum number of employees, {@literal 0} for no limit.
+     */
+    public List<Employee> find(double minSalary, double maxSalary, List<Sort.Order> orders, long offset, int limit) {
+        final int from = lowerBound(minSalary);
+        final int to = Math.max(from, lowerBound(maxSalary));
+        final int start = (int) Math.min(to, from + offset);
+        final int end = limit > 0 ? (int) Math.min(to, (long) start + limit) : to;
+
+        if (isSalaryAscending(orders)) {
+            final List<Employee> page = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                page.add(toEmployee(bySalary[i]));
+            }
+            return page;
+        }
+
+        final Integer[] rows = new Integer[to - from];
+        for (int i = from; i < to; i++) {
+            rows[i - from] = bySalary[i];
+        }
+        Arrays.sort(rows, comparator(orders));
+        final List<Employee> page = new ArrayList<>(end - start);
+        for (int i = start - from; i < end - from; i++) {
+            page.add(toEmployee(rows[i]));
+        }
+        return page;
+    }
+
+    /**
+     * Copy of this snapshot in which the employee with the same id is added or replaced.
+     */
+    public EmployeeSnapshot withEmployee(Employee employee, long newGeneration) {
+        final int found = Arrays.binarySearch(ids, employee.getId());
+        if (found >= 0) {
+            return without(found).insert(found, employee, newGeneration);
+        }
+        return insert(-found - 1, employee, newGeneration);
+    }
+
+    public EmployeeSnapshot withoutEmployee(String id, long newGeneration) {
+        final int found = Arrays.binarySearch(ids, id);
+        final EmployeeSnapshot snapshot = found >= 0 ? without(found) : this;
+        return new EmployeeSnapshot(newGeneration, snapshot.ids, snapshot.logins, snapshot.names, snapshot.salaries,
+                snapshot.startDays, snapshot.bySalary, snapshot.sortedSalaries);
+    }
+
+    private EmployeeSnapshot insert(int row, Employee employee, long newGeneration) {
+        final int n = ids.length;
+        final double salary = employee.getSalary();
+        final int[] newBySalary = new int[n + 1];
+        final double[] newSortedSalaries = new double[n + 1];
+        int j = 0;
+        boolean placed = false;
+        for (int i = 0; i < n; i++) {
+            final int shiftedRow = bySalary[i] >= row ? bySalary[i] + 1 : bySalary[i];
+            final int comparison = Double.compare(sortedSalaries[i], salary);
+            if (!placed && (comparison > 0 || (comparison == 0 && shiftedRow > row))) {
+                newBySalary[j] = row;
+                newSortedSalaries[j++] = salary;
+                placed = true;
+            }
+            newBySalary[j] = shiftedRow;
+            newSortedSalaries[j++] = sortedSalaries[i];
+        }
+        if (!placed) {
+            newBySalary[j] = row;
+            newSortedSalaries[j] = salary;
+        }
+
+        final double[] newSalaries = new double[n + 1];
+        System.arraycopy(salaries, 0, newSalaries, 0, row);
+        newSalaries[row] = salary;
+        System.arraycopy(salaries, row, newSalaries, row + 1, n - row);
+        final long[] newStartDays = new long[n + 1];
+        System.arraycopy(startDays, 0, newStartDays, 0, row);
+        newStartDays[row] = toDay(employee.getStartDate());
+        System.arraycopy(startDays, row, newStartDays, row + 1, n - row);
+
+        return new EmployeeSnapshot(newGeneration, insert(ids, row, employee.getId()), insert(logins, row, employee.getLogin()),
+                insert(names, row, employee.getName()), newSalaries, newStartDays, newBySalary, newSortedSalaries);
+    }
+
+    private EmployeeSnapshot without(int row) {
+        final int n = ids.length;
+        final int[] newBySalary = new int[n - 1];
+        final double[] newSortedSalaries = new double[n - 1];
+        int j = 0;
+        for (int i = 0; i < n; i++) {
+            if (bySalary[i] != row) {
+                newBySalary[j] = bySalary[i] > row ? bySalary[i] - 1 : bySalary[i];
+                newSortedSalaries[j++] = sortedSalaries[i];
+            }
+        }
+
+        final double[] newSalaries = new double[n - 1];
+        System.arraycopy(salaries, 0, newSalaries, 0, row);
+        System.arraycopy(salaries, row + 1, newSalaries, row, n - row - 1);
+        final long[] newStartDays = new long[n - 1];
+        System.arraycopy(startDays, 0, newStartDays, 0, row);
+        System.arraycopy(startDays, row + 1, newStartDays, row, n - row - 1);
+
+        return new EmployeeSnapshot(generation, remove(ids, row), remove(logins, row), remove(names, row), newSalaries,
+                newStartDays, newBySalary, newSortedSalaries);
+    }
+
+    private int lowerBound(double salary) {
+        int low = 0;
+        int high = sortedSalaries.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (Double.compare(sortedSalaries[mid], salary) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private boolean isSalaryAscending(List<Sort.Order> orders) {
+        if (orders.isEmpty() || !orders.get(0).getProperty().equals("salary") || !orders.get(0).isAscending()) {
+            return false;
+        }
+        return orders.size() == 1 || (orders.size() == 2 && orders.get(1).getProperty().equals("id") && orders.get(1).isAscending());
+    }
+
+    private Comparator<Integer> comparator(List<Sort.Order> orders) {
+        Comparator<Integer> comparator = (a, b) -> 0;
+        for (Sort.Order order : orders) {
+            final Comparator<Integer> field = fieldComparator(order.getProperty());
+            comparator = comparator.thenComparing(order.isAscending() ? field : field.reversed());
+        }
+        return comparator.thenComparing(Integer::compare);
+    }
+
+    private Comparator<Integer> fieldComparator(String property) {
+        final Comparator<String> strings = Comparator.nullsFirst(Comparator.naturalOrder());
+        switch (property) {
+            case "id":
+                return Integer::compare;
+            case "login":
+                return (a, b) -> strings.compare(logins[a], logins[b]);
+            case "name":
+                return (a, b) -> strings.compare(names[a], names[b]);
+            case "salary":
+                return (a, b) -> Double.compare(salaries[a], salaries[b]);
+            case "startDate":
+                return (a, b) -> Long.compare(startDays[a], startDays[b]);
+            default:
+                throw new IllegalArgumentException("Unsupported sort field " + property);
+        }
+    }
+
+    private Employee toEmployee(int row) {
+        final LocalDate startDate = startDays[row] == NO_DATE ? null : LocalDate.ofEpochDay(startDays[row]);
+        return new Employee(ids[row], logins[row], names[row], salaries[row], startDate).markNotNew();
+    }
+
+    private static long toDay(LocalDate date) {
+        return date == null ? NO_DATE : date.toEpochDay();
+    }
+
+    private static Integer[] sortedRows(int n, Comparator<Integer> comparator) {
+        final Integer[] rows = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            rows[i] = i;
+        }
+        Arrays.sort(rows, comparator);
+        return rows;
+    }
+
+    private static String[] insert(String[] values, int index, String value) {
+        final String[] copy = new String[values.length + 1];
+        System.arraycopy(values, 0, copy, 0, index);
+        copy[index] = value;
+        System.arraycopy(values, index, copy, index + 1, values.length - index);
+        return copy;
+    }
+
+    private static String[] remove(String[] values, int index) {
+        final String[] copy = new String[values.length - 1];
+        System.arraycopy(values, 0, copy, 0, index);
+        System.arraycopy(values, index + 1, copy, index, values.length - index - 1);
+        return copy;
+    }
+}
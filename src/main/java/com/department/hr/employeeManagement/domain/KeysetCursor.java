@@ -0,0 +1,48 @@
+package com.department.hr.employeeManagement.domain;
+
+import com.department.hr.employeeManagement.exceptions.BadInputException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Continuation token of keyset pagination, holding the sort the page was requested with and the sort key values
+ * of its last row. Clients only see it as an opaque url safe string.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetCursor {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private String sort;
+    private List<String> values;
+
+    public String encode() {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(this));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode continuation token", e);
+        }
+    }
+
+    public static KeysetCursor decode(String token) throws BadInputException {
+        try {
+            final KeysetCursor cursor = MAPPER.readValue(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8), KeysetCursor.class);
+            if (cursor.getSort() == null || cursor.getValues() == null) {
+                throw new BadInputException("Invalid continuation token");
+            }
+            return cursor;
+        } catch (IllegalArgumentException | IOException e) {
+            throw new BadInputException("Invalid continuation token");
+        }
+    }
+}
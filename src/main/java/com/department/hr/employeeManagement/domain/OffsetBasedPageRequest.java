@@ -97,6 +97,11 @@ public class OffsetBasedPageRequest implements Pageable, Serializable {
         return new OffsetBasedPageRequest(0, getPageSize(), getSort());
     }
 
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return new OffsetBasedPageRequest((long) pageNumber * getPageSize(), getPageSize(), getSort());
+    }
+
     @Override
     public boolean hasPrevious() {
         return offset > limit;
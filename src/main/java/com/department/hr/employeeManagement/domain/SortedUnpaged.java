@@ -52,4 +52,11 @@ public class SortedUnpaged implements Pageable {
     public Pageable first() {
         return this;
     }
+
+    public Pageable withPage(int pageNumber) {
+        if (pageNumber == 0) {
+            return this;
+        }
+        throw new UnsupportedOperationException();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.department.hr.employeeManagement.domain;
+
+import com.department.hr.employeeManagement.vo.ChunkSummary;
+import com.department.hr.employeeManagement.vo.UploadJobStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Progress of an upload processed in the background. Updated by the worker thread and read by status requests,
+ * hence all access is synchronized.
+ */
+public class UploadJob {
+
+    public enum State {QUEUED, RUNNING, COMPLETED, FAILED}
+
+    private static final int MAX_ERRORS = 1000;
+
+    private final String id;
+    private final String fileName;
+    private final Instant submittedAt = Instant.now();
+    private State state = State.QUEUED;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private long rowsProcessed;
+    private long accepted;
+    private long rejected;
+    private final List<String> errors = new ArrayList<>();
+    private String failure;
+
+    public UploadJob(String id, String fileName) {
+        this.id = id;
+        this.fileName = fileName;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public synchronized boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED;
+    }
+
+    public synchronized void start() {
+        state = State.RUNNING;
+        startedAt = Instant.now();
+    }
+
+    public synchronized void chunkProcessed(ChunkSummary chunkSummary) {
+        rowsProcessed += chunkSummary.getAccepted() + chunkSummary.getRejected();
+        accepted += chunkSummary.getAccepted();
+        rejected += chunkSummary.getRejected();
+        for (String error : chunkSummary.getErrors()) {
+            if (errors.size() == MAX_ERRORS) {
+                break;
+            }
+            errors.add(error);
+        }
+    }
+
+    public synchronized void complete() {
+        state = State.COMPLETED;
+        finishedAt = Instant.now();
+    }
+
+    public synchronized void fail(String message) {
+        state = State.FAILED;
+        failure = message;
+        finishedAt = Instant.now();
+    }
+
+    public synchronized UploadJobStatus toStatus() {
+        final UploadJobStatus status = new UploadJobStatus();
+        status.setJobId(id);
+        status.setFileName(fileName);
+        status.setState(state.name());
+        status.setSubmittedAt(submittedAt);
+        status.setStartedAt(startedAt);
+        status.setFinishedAt(finishedAt);
+        status.setRowsProcessed(rowsProcessed);
+        status.setAccepted(accepted);
+        status.setRejected(rejected);
+        status.setRowsPerSecond(rowsPerSecond());
+        status.setErrors(new ArrayList<>(errors));
+        status.setFailure(failure);
+        return status;
+    }
+
+    private double rowsPerSecond() {
+        if (startedAt == null) {
+            return 0;
+        }
+        final long millis = Duration.between(startedAt, finishedAt != null ? finishedAt : Instant.now()).toMillis();
+        return millis > 0 ? rowsProcessed * 1000d / millis : 0;
+    }
+}
@@ -1,24 +1,27 @@
 package com.department.hr.employeeManagement.entity;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-import javax.persistence.Column;
-import javax.persistence.Entity;
-import javax.persistence.Id;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
 import javax.validation.constraints.DecimalMin;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Pattern;
 import java.time.LocalDate;
 
 @Data
-@AllArgsConstructor
 @NoArgsConstructor
 @Entity
-public class Employee {
+@Table(indexes = {
+        @Index(name = "idx_employee_salary_id", columnList = "salary, id"),
+        @Index(name = "idx_employee_start_date_id", columnList = "startDate, id"),
+        @Index(name = "idx_employee_name_id", columnList = "name, id"),
+        @Index(name = "idx_employee_salary_start_date", columnList = "salary ASC, startDate DESC, id"),
+        @Index(name = "idx_employee_start_date_salary", columnList = "startDate DESC, salary ASC, id")
+})
+public class Employee implements Persistable<String> {
 
     @Id
     @Pattern(regexp = "[A-Za-z0-9]+", message = "Invalid id, id can only be alphanumeric")
@@ -38,6 +41,48 @@ public class Employee {
     @NotNull(message = "Invalid date")
     private LocalDate startDate;
 
+    /**
+     * Lets spring data persist new employees with a plain insert instead of merging them, which would first select
+     * the row for the assigned id. Entities loaded or saved through JPA are flagged as not new.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private transient boolean newEntity = true;
+
+    public Employee(String id, String login, String name, Double salary, LocalDate startDate) {
+        this.id = id;
+        this.login = login;
+        this.name = name;
+        this.salary = salary;
+        this.startDate = startDate;
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    public Employee markNotNew() {
+        this.newEntity = false;
+        return this;
+    }
+
+    /**
+     * Returns a detached copy of this employee, so a cached instance can be handed out without callers changing it.
+     */
+    public Employee copy() {
+        return new Employee(id, login, name, salary, startDate).markNotNew();
+    }
+
+    @PostLoad
+    @PostPersist
+    void onLoadOrPersist() {
+        markNotNew();
+    }
+
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "[yyyy-MM-dd]")
     public LocalDate getStartDate() {
         return startDate;
@@ -0,0 +1,17 @@
+package com.department.hr.employeeManagement.input;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeLookup {
+
+    @NotEmpty(message = "ids cannot be empty")
+    private List<String> ids;
+}
@@ -0,0 +1,31 @@
+package com.department.hr.employeeManagement.input;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * One element of a bulk mutation, {@code op} being one of {@code create}, {@code update} or {@code delete}. Deletes
+ * only need the id.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeOperation {
+
+    private String op;
+
+    private String id;
+
+    private String login;
+
+    private String name;
+
+    private Double salary;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "[yyyy-MM-dd][dd-MMM-yy]")
+    private LocalDate startDate;
+}
@@ -0,0 +1,59 @@
+package com.department.hr.employeeManagement.reactive;
+
+import com.department.hr.employeeManagement.controllers.ExceptionHandlingController;
+import com.department.hr.employeeManagement.service.CsvEmployeeReader;
+import com.department.hr.employeeManagement.validators.EmployeeValidator;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurationExcludeFilter;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Non blocking variant of the employee API, started with the {@code reactive} profile. Requests are served by
+ * WebFlux on Netty and the employee table is accessed through R2DBC, the schema being created from
+ * {@code reactive-schema.sql}. Validation and error responses are those of the servlet application: the same
+ * {@link EmployeeValidator}, {@link CsvEmployeeReader} and {@link ExceptionHandlingController} are used.
+ * <p>
+ * The class and every bean of this package only apply to a reactive web application, so that the servlet
+ * application, which scans this package too, ignores them. It is not a {@code @SpringBootApplication} so that tests
+ * keep finding {@link com.department.hr.employeeManagement.EmployeeManagementApplication} as the one configuration
+ * of the project.
+ */
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Configuration
+@EnableAutoConfiguration(exclude = {DataSourceAutoConfiguration.class, DataSourceTransactionManagerAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class})
+@ComponentScan(excludeFilters = {@ComponentScan.Filter(type = FilterType.CUSTOM, classes = TypeExcludeFilter.class),
+        @ComponentScan.Filter(type = FilterType.CUSTOM, classes = AutoConfigurationExcludeFilter.class)})
+@Import({EmployeeValidator.class, CsvEmployeeReader.class, ExceptionHandlingController.class})
+public class ReactiveEmployeeApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveEmployeeApplication.class).profiles("reactive").run(args);
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    /**
+     * Preferred over Tomcat, which is on the classpath for the servlet application.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,157 @@
+package com.department.hr.employeeManagement.reactive;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.input.UpdateEmployee;
+import com.department.hr.employeeManagement.vo.Results;
+import com.department.hr.employeeManagement.vo.UploadSummary;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reactive counterpart of {@link com.department.hr.employeeManagement.controllers.EmployeeController} covering
+ * upload, listings and single employee operations with the same parameters and responses.
+ * <p>
+ * The servlet application reports exceptions a handler method declares, which are not {@link Exception}s, wrapped
+ * in an {@link IllegalStateException}; {@link com.department.hr.employeeManagement.controllers.ExceptionHandlingController}
+ * answers with the message of the cause. Failures of the service are wrapped the same way here.
+ */
+@RestController
+@RequestMapping("/users")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmployeeController {
+
+    private static final DataBufferFactory BUFFER_FACTORY = new DefaultDataBufferFactory();
+
+    private final ReactiveEmployeeService service;
+
+    private final ObjectMapper objectMapper;
+
+    public ReactiveEmployeeController(ReactiveEmployeeService service, ObjectMapper objectMapper) {
+        this.service = service;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public Mono<ResponseEntity<UploadSummary>> uploadCSV(@RequestPart("file") Mono<FilePart> file) {
+        return file.flatMap(part -> service.upload(part.headers().getFirst(HttpHeaders.CONTENT_TYPE), part.content()))
+                .map(summary -> ResponseEntity.status(summary.getAccepted() > 0 ? 201 : 200).body(summary))
+                .onErrorMap(ReactiveEmployeeController::isDeclaredFailure, IllegalStateException::new);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Results>> getEmployees(@RequestParam(required = false, name = "minSalary", defaultValue = "0") Double minSalary,
+                                                      @RequestParam(required = false, name = "maxSalary", defaultValue = "4000.00") Double maxSalary,
+                                                      @RequestParam(required = false, name = "offset", defaultValue = "0") Integer offset,
+                                                      @RequestParam(required = false, name = "limit", defaultValue = "0") Integer limit,
+                                                      @RequestParam(required = false, name = "orderByfieldAndDirection", defaultValue = "id-asc") String sortFieldsAndDirection,
+                                                      @RequestParam(required = false, name = "includeTotal", defaultValue = "false") Boolean includeTotal) {
+        final Mono<Results> results = service.fetchEmployees(minSalary, maxSalary, offset, limit, sortFieldsAndDirection)
+                .collectList()
+                .map(employees -> {
+                    final Results response = new Results();
+                    response.setResults(employees);
+                    return response;
+                });
+        final Mono<Results> withTotal = includeTotal
+                ? results.zipWith(service.countEmployees(minSalary, maxSalary), (response, total) -> {
+                    response.setTotal(total);
+                    return response;
+                })
+                : results;
+        return withTotal.map(ResponseEntity::ok)
+                .onErrorMap(ReactiveEmployeeController::isDeclaredFailure, IllegalStateException::new);
+    }
+
+    /**
+     * The results envelope of {@link #getEmployees} written employee by employee as rows arrive.
+     */
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<Flux<DataBuffer>> streamEmployees(@RequestParam(required = false, name = "minSalary", defaultValue = "0") Double minSalary,
+                                                            @RequestParam(required = false, name = "maxSalary", defaultValue = "4000.00") Double maxSalary,
+                                                            @RequestParam(required = false, name = "orderByfieldAndDirection", defaultValue = "id-asc") String sortFieldsAndDirection) {
+        final Flux<DataBuffer> employees = service.fetchEmployees(minSalary, maxSalary, 0, 0, sortFieldsAndDirection)
+                .index()
+                .map(employee -> toBuffer(employee.getT1() == 0 ? "" : ",", employee.getT2()));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Flux.concat(Mono.fromSupplier(() -> toBuffer("{\"results\":[")), employees, Mono.fromSupplier(() -> toBuffer("]}")))
+                        .onErrorMap(ReactiveEmployeeController::isDeclaredFailure, IllegalStateException::new));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Employee> streamEmployeesAsNdjson(@RequestParam(required = false, name = "minSalary", defaultValue = "0") Double minSalary,
+                                                  @RequestParam(required = false, name = "maxSalary", defaultValue = "4000.00") Double maxSalary,
+                                                  @RequestParam(required = false, name = "orderByfieldAndDirection", defaultValue = "id-asc") String sortFieldsAndDirection) {
+        return service.fetchEmployees(minSalary, maxSalary, 0, 0, sortFieldsAndDirection)
+                .onErrorMap(ReactiveEmployeeController::isDeclaredFailure, IllegalStateException::new);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> getEmployee(@PathVariable("id") String id) {
+        return service.getEmployeeById(id)
+                .map(ResponseEntity::ok)
+                .onErrorMap(ReactiveEmployeeController::isDeclaredFailure, IllegalStateException::new);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<String>> createEmployee(@Valid @RequestBody Employee employee) {
+        return service.createEmployee(employee)
+                .thenReturn(ResponseEntity.ok("Successfully created"))
+                .onErrorMap(ReactiveEmployeeController::isDeclaredFailure, IllegalStateException::new);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<String>> updateEmployee(@PathVariable("id") String id, @Valid @RequestBody UpdateEmployee employee) {
+        return service.updateEmployee(id, employee)
+                .thenReturn(ResponseEntity.ok("Successfully updated"))
+                .onErrorMap(ReactiveEmployeeController::isDeclaredFailure, IllegalStateException::new);
+    }
+
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<String>> patchEmployee(@PathVariable("id") String id, @RequestBody UpdateEmployee employee) {
+        return service.patchEmployee(id, employee)
+                .map(patched -> patched
+                        ? ResponseEntity.ok("Successfully updated")
+                        : ResponseEntity.status(HttpStatus.NOT_FOUND).body("No such employee"))
+                .onErrorMap(ReactiveEmployeeController::isDeclaredFailure, IllegalStateException::new);
+    }
+
+    @DeleteMapping("{id}")
+    public Mono<ResponseEntity<String>> deleteEmployee(@PathVariable("id") String id) {
+        return service.deleteEmployee(id)
+                .thenReturn(ResponseEntity.ok("Successfully deleted"))
+                .onErrorMap(ReactiveEmployeeController::isDeclaredFailure, IllegalStateException::new);
+    }
+
+    private static boolean isDeclaredFailure(Throwable e) {
+        return !(e instanceof Exception) && !(e instanceof Error);
+    }
+
+    private DataBuffer toBuffer(String separator, Employee employee) {
+        try {
+            return toBuffer(separator + objectMapper.writeValueAsString(employee));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static DataBuffer toBuffer(String json) {
+        return BUFFER_FACTORY.wrap(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
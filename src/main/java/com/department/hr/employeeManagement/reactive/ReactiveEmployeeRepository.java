@@ -0,0 +1,209 @@
+package com.department.hr.employeeManagement.reactive;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.repository.EmployeeBatchRepository;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.Statement;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * R2DBC counterpart of {@link com.department.hr.employeeManagement.repository.EmployeeRepository} and
+ * {@link com.department.hr.employeeManagement.repository.EmployeeBatchRepository} for the reactive application.
+ * Rows are emitted as the database produces them and only as fast as they are requested.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmployeeRepository {
+
+    static final String COLUMNS = "id, login, name, salary, start_date";
+    static final String SELECT_BY_ID = "SELECT " + COLUMNS + " FROM employee WHERE id = :id";
+    static final String SELECT_BY_SALARY = "SELECT " + COLUMNS + " FROM employee WHERE salary >= :minSalary AND salary < :maxSalary";
+    static final String COUNT_BY_SALARY = "SELECT COUNT(*) AS total FROM employee WHERE salary >= :minSalary AND salary < :maxSalary";
+    static final String INSERT = "INSERT INTO employee (" + COLUMNS + ") VALUES (:id, :login, :name, :salary, :startDate)";
+    static final String UPSERT = "MERGE INTO employee (" + COLUMNS + ") KEY (id) VALUES ($1, $2, $3, $4, $5)";
+    static final String UPDATE = "UPDATE employee SET login = :login, name = :name, salary = :salary, start_date = :startDate WHERE id = :id";
+    static final String PATCH = "SELECT " + COLUMNS + " FROM FINAL TABLE ("
+            + "UPDATE employee SET login = COALESCE(:login, login), name = COALESCE(:name, name), salary = COALESCE(:salary, salary), "
+            + "start_date = COALESCE(:startDate, start_date) WHERE id = :id)";
+    static final String DELETE = "DELETE FROM employee WHERE id = :id";
+    static final String INSERT_UPLOAD_KEY = "INSERT INTO employee_upload_key (upload_id, kind, key_value) VALUES ($1, $2, $3)";
+    static final String SELECT_UPLOAD_KEYS = "SELECT key_value FROM employee_upload_key "
+            + "WHERE upload_id = :upload AND kind = :kind AND key_value IN (:keys)";
+    static final String DELETE_UPLOAD_KEYS = "DELETE FROM employee_upload_key WHERE upload_id = :upload";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveEmployeeRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * @param orders validated employee properties.
+     * @param limit  the maximum number of employees, {@literal 0} for no limit.
+     */
+    public Flux<Employee> findBySalaryRange(Double minSalary, Double maxSalary, List<Sort.Order> orders, long offset, int limit) {
+        final StringBuilder sql = new StringBuilder(SELECT_BY_SALARY);
+        if (!orders.isEmpty()) {
+            sql.append(orders.stream()
+                    .map(o -> toColumn(o.getProperty()) + (o.isAscending() ? " ASC" : " DESC"))
+                    .collect(Collectors.joining(", ", " ORDER BY ", "")));
+        }
+        if (limit > 0) {
+            sql.append(" LIMIT :limit OFFSET :offset");
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .bind("minSalary", minSalary)
+                .bind("maxSalary", maxSalary);
+        if (limit > 0) {
+            spec = spec.bind("limit", limit).bind("offset", offset);
+        }
+        return spec.map((row, metadata) -> mapEmployee(row)).all();
+    }
+
+    public Mono<Long> countBySalaryRange(Double minSalary, Double maxSalary) {
+        return databaseClient.sql(COUNT_BY_SALARY)
+                .bind("minSalary", minSalary)
+                .bind("maxSalary", maxSalary)
+                .map((row, metadata) -> row.get("total", Long.class))
+                .one();
+    }
+
+    public Mono<Employee> findById(String id) {
+        return databaseClient.sql(SELECT_BY_ID)
+                .bind("id", id)
+                .map((row, metadata) -> mapEmployee(row))
+                .one();
+    }
+
+    /**
+     * Inserts a single employee, failing with a {@link org.springframework.dao.DataIntegrityViolationException} if
+     * the id or login is taken.
+     */
+    public Mono<Void> insert(Employee employee) {
+        return bindEmployee(databaseClient.sql(INSERT), employee).then();
+    }
+
+    /**
+     * @return the number of updated rows, {@literal 0} if no employee has the id.
+     */
+    public Mono<Integer> update(Employee employee) {
+        return bindEmployee(databaseClient.sql(UPDATE), employee).fetch().rowsUpdated();
+    }
+
+    /**
+     * Updates the non null values of a single employee and reads the updated row back with the same statement.
+     *
+     * @return the updated employee, empty if no employee has the id.
+     */
+    public Mono<Employee> patch(String id, String login, String name, Double salary, LocalDate startDate) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(PATCH).bind("id", id);
+        spec = bindNullable(spec, "login", login, String.class);
+        spec = bindNullable(spec, "name", name, String.class);
+        spec = bindNullable(spec, "salary", salary, Double.class);
+        spec = bindNullable(spec, "startDate", startDate, LocalDate.class);
+        return spec.map((row, metadata) -> mapEmployee(row)).one();
+    }
+
+    /**
+     * @return the number of deleted rows, {@literal 0} if no employee has the id.
+     */
+    public Mono<Integer> delete(String id) {
+        return databaseClient.sql(DELETE).bind("id", id).fetch().rowsUpdated();
+    }
+
+    /**
+     * Inserts or replaces the given employees with a single batched statement.
+     */
+    public Mono<Integer> upsertAll(List<Employee> employees) {
+        return databaseClient.inConnectionMany(connection -> {
+            final Statement statement = connection.createStatement(UPSERT);
+            for (int i = 0; i < employees.size(); i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                final Employee employee = employees.get(i);
+                statement.bind(0, employee.getId())
+                        .bind(1, employee.getLogin())
+                        .bind(2, employee.getName())
+                        .bind(3, employee.getSalary())
+                        .bind(4, employee.getStartDate());
+            }
+            return Flux.from(statement.execute()).flatMap(Result::getRowsUpdated);
+        }).reduce(0, Integer::sum);
+    }
+
+    /**
+     * Records the ids and logins of employees written by an upload, as
+     * {@link com.department.hr.employeeManagement.repository.EmployeeBatchRepository#recordUploadKeys} does.
+     */
+    public Mono<Integer> recordUploadKeys(String uploadId, List<Employee> employees) {
+        return databaseClient.inConnectionMany(connection -> {
+            final Statement statement = connection.createStatement(INSERT_UPLOAD_KEY);
+            for (int i = 0; i < employees.size(); i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                final Employee employee = employees.get(i);
+                statement.bind(0, uploadId).bind(1, EmployeeBatchRepository.UPLOAD_KEY_ID).bind(2, employee.getId())
+                        .add()
+                        .bind(0, uploadId).bind(1, EmployeeBatchRepository.UPLOAD_KEY_LOGIN).bind(2, employee.getLogin());
+            }
+            return Flux.from(statement.execute()).flatMap(Result::getRowsUpdated);
+        }).reduce(0, Integer::sum);
+    }
+
+    /**
+     * @param kind {@link EmployeeBatchRepository#UPLOAD_KEY_ID} or {@link EmployeeBatchRepository#UPLOAD_KEY_LOGIN}.
+     * @return those of {@code keys} already recorded for the upload.
+     */
+    public Mono<Set<String>> findUploadKeys(String uploadId, String kind, Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Mono.just(Collections.emptySet());
+        }
+        return databaseClient.sql(SELECT_UPLOAD_KEYS)
+                .bind("upload", uploadId)
+                .bind("kind", kind)
+                .bind("keys", keys)
+                .map((row, metadata) -> row.get("key_value", String.class))
+                .all()
+                .collect(Collectors.toSet());
+    }
+
+    public Mono<Integer> forgetUploadKeys(String uploadId) {
+        return databaseClient.sql(DELETE_UPLOAD_KEYS).bind("upload", uploadId).fetch().rowsUpdated();
+    }
+
+    private DatabaseClient.GenericExecuteSpec bindEmployee(DatabaseClient.GenericExecuteSpec spec, Employee employee) {
+        spec = spec.bind("id", employee.getId())
+                .bind("login", employee.getLogin())
+                .bind("name", employee.getName());
+        spec = bindNullable(spec, "salary", employee.getSalary(), Double.class);
+        return bindNullable(spec, "startDate", employee.getStartDate(), LocalDate.class);
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec, String name, Object value, Class<?> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+
+    private static Employee mapEmployee(Row row) {
+        return new Employee(row.get("id", String.class), row.get("login", String.class), row.get("name", String.class),
+                row.get("salary", Double.class), row.get("start_date", LocalDate.class));
+    }
+
+    private static String toColumn(String property) {
+        return "startDate".equals(property) ? "start_date" : property;
+    }
+}
@@ -0,0 +1,239 @@
+package com.department.hr.employeeManagement.reactive;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.exceptions.BadInputException;
+import com.department.hr.employeeManagement.exceptions.FileFormatException;
+import com.department.hr.employeeManagement.exceptions.InvalidFieldException;
+import com.department.hr.employeeManagement.input.UpdateEmployee;
+import com.department.hr.employeeManagement.repository.EmployeeBatchRepository;
+import com.department.hr.employeeManagement.service.CsvEmployeeReader;
+import com.department.hr.employeeManagement.service.UploadChunkKeys;
+import com.department.hr.employeeManagement.validators.EmployeeValidator;
+import com.department.hr.employeeManagement.vo.ChunkSummary;
+import com.department.hr.employeeManagement.vo.UploadSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Reactive counterpart of {@link com.department.hr.employeeManagement.service.EmployeeService} and the streaming
+ * upload of {@link com.department.hr.employeeManagement.service.EmployeeUploadService}, with the same validation and
+ * error messages. Failures are signalled with the exceptions of the servlet application.
+ */
+@Slf4j
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmployeeService {
+
+    private final EmployeeValidator validator;
+
+    private final CsvEmployeeReader reader;
+
+    private final ReactiveEmployeeRepository repository;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final int chunkSize;
+
+    public ReactiveEmployeeService(EmployeeValidator validator, CsvEmployeeReader reader, ReactiveEmployeeRepository repository,
+                                   TransactionalOperator transactionalOperator,
+                                   @Value("${employee.upload.chunk-size:1000}") int chunkSize) {
+        this.validator = validator;
+        this.reader = reader;
+        this.repository = repository;
+        this.transactionalOperator = transactionalOperator;
+        this.chunkSize = chunkSize;
+    }
+
+    public Flux<Employee> fetchEmployees(Double minSalary, Double maxSalary, Integer offset, Integer limit, String sortFieldsAndDirection) {
+        final List<Sort.Order> sortOrderList;
+        try {
+            sortOrderList = getSortOrderList(sortFieldsAndDirection);
+        } catch (BadInputException e) {
+            return Flux.error(e);
+        }
+        final List<Sort.Order> orders = limit > 0 ? withIdTieBreaker(sortOrderList) : sortOrderList;
+        return repository.findBySalaryRange(minSalary, maxSalary, orders, offset, Math.max(limit, 0));
+    }
+
+    public Mono<Long> countEmployees(Double minSalary, Double maxSalary) {
+        return repository.countBySalaryRange(minSalary, maxSalary);
+    }
+
+    public Mono<Employee> getEmployeeById(String id) {
+        return repository.findById(id).switchIfEmpty(Mono.error(() -> new BadInputException("No such employee")));
+    }
+
+    public Mono<Void> createEmployee(Employee employee) {
+        try {
+            validator.validateId(employee.getId(), "id");
+            validator.validateLogin(employee.getLogin(), "login");
+        } catch (InvalidFieldException e) {
+            return Mono.error(e);
+        }
+        return repository.insert(employee)
+                .onErrorMap(DataIntegrityViolationException.class, e -> new BadInputException(
+                        EmployeeBatchRepository.isLoginViolation(e) ? "Employee login not unique" : "Employee ID already exists"));
+    }
+
+    public Mono<Void> updateEmployee(String id, UpdateEmployee update) {
+        final Employee employee = new Employee(id, update.getLogin(), update.getName(), update.getSalary(), update.getStartDate());
+        return repository.update(employee)
+                .onErrorMap(DataIntegrityViolationException.class, e -> new BadInputException("Employee login not unique"))
+                .flatMap(updated -> updated > 0 ? Mono.empty() : Mono.error(new BadInputException("No such employee")));
+    }
+
+    /**
+     * Applies the non null fields of the update with a single statement.
+     *
+     * @return {@literal false} if no employee has the id.
+     */
+    public Mono<Boolean> patchEmployee(String id, UpdateEmployee patch) {
+        try {
+            if (patch.getLogin() != null) {
+                validator.validateLogin(patch.getLogin(), "login");
+            }
+            if (patch.getSalary() != null) {
+                validator.validateSalary(patch.getSalary());
+            }
+        } catch (InvalidFieldException e) {
+            return Mono.error(e);
+        }
+        return repository.patch(id, patch.getLogin(), patch.getName(), patch.getSalary(), patch.getStartDate())
+                .onErrorMap(DataIntegrityViolationException.class, e -> new BadInputException("Employee login not unique"))
+                .map(patched -> true)
+                .defaultIfEmpty(false);
+    }
+
+    public Mono<Void> deleteEmployee(String id) {
+        return repository.delete(id)
+                .flatMap(deleted -> deleted > 0 ? Mono.empty() : Mono.error(new BadInputException("No such employee")));
+    }
+
+    /**
+     * Reads the csv rows as they arrive and persists them in chunks of {@code employee.upload.chunk-size} rows, each in
+     * its own transaction. Only one chunk is requested at a time, so the upload is read no faster than it is written.
+     * Invalid rows, and rows repeating the id or login of an earlier row, are rejected individually as in the streaming
+     * mode of the servlet upload, with the keys of earlier chunks looked up in the database by {@link UploadChunkKeys}
+     * and forgotten once the upload ends. Rows are split on line breaks, hence quoted values cannot span lines.
+     */
+    public Mono<UploadSummary> upload(String contentType, Flux<DataBuffer> content) {
+        try {
+            validator.validateContentType(contentType);
+        } catch (FileFormatException e) {
+            return Mono.error(e);
+        }
+        final UploadSummary summary = new UploadSummary();
+        return Mono.usingWhen(Mono.just(UUID.randomUUID().toString()),
+                uploadId -> records(content)
+                        .buffer(chunkSize)
+                        .index()
+                        .concatMap(chunk -> processChunk(uploadId, chunk.getT1().intValue() + 1, chunk.getT2()), 1)
+                        .doOnNext(summary::add)
+                        .then(Mono.fromSupplier(() -> {
+                            log.info("Upload finished, {} rows accepted and {} rows rejected", summary.getAccepted(), summary.getRejected());
+                            return summary;
+                        })),
+                repository::forgetUploadKeys);
+    }
+
+    /**
+     * The data lines of the csv content, numbered from 1 as {@link CSVRecord}s are, each prefixed with the header line
+     * so that it can be parsed on its own.
+     */
+    private Flux<Tuple2<Long, String>> records(Flux<DataBuffer> content) {
+        return StringDecoder.textPlainOnly()
+                .decode(content, ResolvableType.forClass(String.class), null, Collections.emptyMap())
+                .filter(line -> !line.trim().isEmpty() && !line.startsWith("#"))
+                .switchOnFirst((first, lines) -> {
+                    if (!first.hasValue()) {
+                        return Flux.empty();
+                    }
+                    final String header = first.get();
+                    return lines.skip(1).index().map(line -> Tuples.of(line.getT1() + 1, header + "\n" + line.getT2()));
+                });
+    }
+
+    private Mono<ChunkSummary> processChunk(String uploadId, int chunkNumber, List<Tuple2<Long, String>> records) {
+        final ChunkSummary chunkSummary = new ChunkSummary(chunkNumber, records.get(0).getT1(), records.get(records.size() - 1).getT1());
+        final UploadChunkKeys keys = new UploadChunkKeys();
+
+        for (Tuple2<Long, String> record : records) {
+            try (CSVParser parser = CSVParser.parse(record.getT2(), CsvEmployeeReader.CSV_FORMAT)) {
+                keys.add(record.getT1(), reader.toEmployee(parser.iterator().next()));
+            } catch (InvalidFieldException | IllegalArgumentException | IllegalStateException | IOException e) {
+                chunkSummary.reject(record.getT1(), e.getMessage());
+            }
+        }
+        return repository.findUploadKeys(uploadId, EmployeeBatchRepository.UPLOAD_KEY_ID, keys.ids())
+                .zipWith(repository.findUploadKeys(uploadId, EmployeeBatchRepository.UPLOAD_KEY_LOGIN, keys.logins()))
+                .doOnNext(earlier -> keys.keep(earlier.getT1(), earlier.getT2(), chunkSummary))
+                .then(Mono.defer(() -> persist(uploadId, keys.getEmployees(), keys.getRows(), chunkSummary)))
+                .thenReturn(chunkSummary);
+    }
+
+    private Mono<Void> persist(String uploadId, List<Employee> employees, List<Long> rows, ChunkSummary chunkSummary) {
+        if (employees.isEmpty()) {
+            return Mono.empty();
+        }
+        return write(uploadId, employees)
+                .doOnNext(written -> chunkSummary.setAccepted(chunkSummary.getAccepted() + employees.size()))
+                .then()
+                .onErrorResume(DataIntegrityViolationException.class, e -> {
+                    log.debug("Batch for chunk {} failed, retrying row by row", chunkSummary.getChunk(), e);
+                    return Flux.range(0, employees.size())
+                            .concatMap(i -> write(uploadId, Collections.singletonList(employees.get(i)))
+                                    .doOnNext(written -> chunkSummary.setAccepted(chunkSummary.getAccepted() + 1))
+                                    .onErrorResume(DataIntegrityViolationException.class, ex -> {
+                                        chunkSummary.reject(rows.get(i), UploadChunkKeys.rejectionReason(ex));
+                                        return Mono.empty();
+                                    }))
+                            .then();
+                });
+    }
+
+    /**
+     * Writes the employees together with their keys, so that the keys of a chunk are recorded only if it commits.
+     */
+    private Mono<Integer> write(String uploadId, List<Employee> employees) {
+        return transactionalOperator.transactional(repository.recordUploadKeys(uploadId, employees)
+                .then(repository.upsertAll(employees)));
+    }
+
+    private List<Sort.Order> getSortOrderList(String sortFieldsWithDirection) throws BadInputException {
+        final List<Sort.Order> orders = new ArrayList<>();
+        for (String sortField : sortFieldsWithDirection.split(",")) {
+            final String[] fieldWithDirection = sortField.split("-");
+            final String direction = fieldWithDirection.length == 2 ? fieldWithDirection[1] : null;
+            validator.validateSortField(fieldWithDirection[0]);
+            orders.add(new Sort.Order(direction != null && direction.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC,
+                    fieldWithDirection[0]));
+        }
+        return orders;
+    }
+
+    private List<Sort.Order> withIdTieBreaker(List<Sort.Order> sortOrderList) {
+        if (sortOrderList.stream().anyMatch(o -> o.getProperty().equals("id"))) {
+            return sortOrderList;
+        }
+        final List<Sort.Order> orders = new ArrayList<>(sortOrderList);
+        orders.add(Sort.Order.asc("id"));
+        return orders;
+    }
+}
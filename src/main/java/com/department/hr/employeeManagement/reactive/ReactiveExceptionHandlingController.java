@@ -0,0 +1,39 @@
+package com.department.hr.employeeManagement.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.stream.Collectors;
+
+/**
+ * Answers invalid request bodies and parameters as
+ * {@link com.department.hr.employeeManagement.controllers.ExceptionHandlingController} does for the servlet
+ * application, WebFlux reporting them with a {@link ServerWebInputException} instead. Any other failure is left to
+ * {@code ExceptionHandlingController}.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandlingController {
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity badInputErrorHandler(WebExchangeBindException e) {
+        String message = e.getBindingResult()
+                .getFieldErrors()
+                .stream()
+                .map(er -> er.getDefaultMessage())
+                .collect(Collectors.joining(", "));
+        return ResponseEntity.badRequest().body(message);
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity badInputErrorHandler(ServerWebInputException e) {
+        return ResponseEntity.badRequest().body(e.getReason());
+    }
+}
@@ -0,0 +1,259 @@
+package com.department.hr.employeeManagement.repository;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+@Repository
+public class EmployeeBatchRepository {
+
+    public static final String UPLOAD_KEY_ID = "I";
+    public static final String UPLOAD_KEY_LOGIN = "L";
+
+    static final String UPSERT = "MERGE INTO employee (id, login, name, salary, start_date) KEY (id) VALUES (?, ?, ?, ?, ?)";
+    static final String INSERT = "INSERT INTO employee (id, login, name, salary, start_date) VALUES (?, ?, ?, ?, ?)";
+    static final String UPDATE = "UPDATE employee SET login = ?, name = ?, salary = ?, start_date = ? WHERE id = ?";
+    static final String DELETE = "DELETE FROM employee WHERE id = ?";
+    static final String RELEASE_LOGIN = "UPDATE employee SET login = CONCAT('#', id) WHERE id = ?";
+    static final String PATCH = "SELECT id, login, name, salary, start_date FROM FINAL TABLE ("
+            + "UPDATE employee SET login = COALESCE(?, login), name = COALESCE(?, name), salary = COALESCE(?, salary), "
+            + "start_date = COALESCE(?, start_date) WHERE id = ?)";
+    static final String SELECT_ORDERED_BY_ID = "SELECT id, login, name, salary, start_date FROM employee ORDER BY id";
+    static final String INSERT_UPLOAD_KEY = "INSERT INTO employee_upload_key (upload_id, kind, key_value) VALUES (?, ?, ?)";
+    static final String SELECT_UPLOAD_KEYS = "SELECT key_value FROM employee_upload_key "
+            + "WHERE upload_id = :upload AND kind = :kind AND key_value IN (:keys)";
+    static final String DELETE_UPLOAD_KEYS = "DELETE FROM employee_upload_key WHERE upload_id = ?";
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public EmployeeBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    /**
+     * Inserts or replaces the given employees with a single JDBC batch.
+     */
+    public int[] upsertAll(List<Employee> employees) {
+        return batchUpdate(UPSERT, employees, EmployeeBatchRepository::setEmployee);
+    }
+
+    /**
+     * Tells a taken login from a taken id when an insert or update violated a constraint.
+     */
+    public static boolean isLoginViolation(DataIntegrityViolationException e) {
+        final String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toUpperCase().contains("EMPLOYEE(LOGIN");
+    }
+
+    /**
+     * Records the ids and logins of employees written by an upload, so that later chunks of the same upload can
+     * find them with {@link #findUploadKeys} instead of keeping them in memory.
+     */
+    public int[] recordUploadKeys(String uploadId, List<Employee> employees) {
+        return jdbcTemplate.batchUpdate(INSERT_UPLOAD_KEY, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                final Employee employee = employees.get(i / 2);
+                ps.setString(1, uploadId);
+                ps.setString(2, i % 2 == 0 ? UPLOAD_KEY_ID : UPLOAD_KEY_LOGIN);
+                ps.setString(3, i % 2 == 0 ? employee.getId() : employee.getLogin());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return 2 * employees.size();
+            }
+        });
+    }
+
+    /**
+     * @param kind {@link #UPLOAD_KEY_ID} or {@link #UPLOAD_KEY_LOGIN}.
+     * @return those of {@code keys} already recorded for the upload.
+     */
+    public Set<String> findUploadKeys(String uploadId, String kind, Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Collections.emptySet();
+        }
+        final MapSqlParameterSource parameters = new MapSqlParameterSource("upload", uploadId)
+                .addValue("kind", kind)
+                .addValue("keys", keys);
+        return new HashSet<>(namedJdbcTemplate.queryForList(SELECT_UPLOAD_KEYS, parameters, String.class));
+    }
+
+    public int forgetUploadKeys(String uploadId) {
+        return jdbcTemplate.update(DELETE_UPLOAD_KEYS, uploadId);
+    }
+
+    public int[] insertAll(List<Employee> employees) {
+        return batchUpdate(INSERT, employees, EmployeeBatchRepository::setEmployee);
+    }
+
+    /**
+     * Inserts a single employee, failing with a {@link org.springframework.dao.DuplicateKeyException} if the id or
+     * login is taken.
+     */
+    public void insert(Employee employee) {
+        jdbcTemplate.update(INSERT, ps -> setEmployee(ps, employee));
+    }
+
+    public int[] updateAll(List<Employee> employees) {
+        return batchUpdate(UPDATE, employees, (ps, employee) -> {
+            ps.setString(1, employee.getLogin());
+            ps.setString(2, employee.getName());
+            ps.setDouble(3, employee.getSalary());
+            ps.setDate(4, Date.valueOf(employee.getStartDate()));
+            ps.setString(5, employee.getId());
+        });
+    }
+
+    public int[] deleteAllById(List<String> ids) {
+        return batchUpdate(DELETE, ids, (ps, id) -> ps.setString(1, id));
+    }
+
+    /**
+     * Replaces the login of each employee with a placeholder derived from its id, so that the login can be given to
+     * another employee within the same transaction. The placeholder can never clash with a valid login.
+     */
+    public int[] releaseLogins(List<String> ids) {
+        return batchUpdate(RELEASE_LOGIN, ids, (ps, id) -> ps.setString(1, id));
+    }
+
+    /**
+     * Deletes a single employee.
+     *
+     * @return {@literal false} if no employee has the id.
+     */
+    public boolean delete(String id) {
+        return jdbcTemplate.update(DELETE, id) > 0;
+    }
+
+    /**
+     * Updates the non null values of a single employee and reads the updated row back with the same statement.
+     *
+     * @return the updated employee, empty if no employee has the id.
+     */
+    public Optional<Employee> patch(String id, String login, String name, Double salary, LocalDate startDate) {
+        final List<Employee> updated = jdbcTemplate.query(PATCH, ps -> {
+            ps.setString(1, login);
+            ps.setString(2, name);
+            if (salary != null) {
+                ps.setDouble(3, salary);
+            } else {
+                ps.setNull(3, Types.DOUBLE);
+            }
+            if (startDate != null) {
+                ps.setDate(4, Date.valueOf(startDate));
+            } else {
+                ps.setNull(4, Types.DATE);
+            }
+            ps.setString(5, id);
+        }, (rs, rowNum) -> mapEmployee(rs));
+        return updated.stream().findFirst();
+    }
+
+    /**
+     * Reads the whole table ordered by id through a forward only cursor. The iterator is only valid within
+     * {@code function}.
+     */
+    public <T> T withEmployeesOrderedById(Function<Iterator<Employee>, T> function) {
+        return jdbcTemplate.query(con -> {
+            final PreparedStatement ps = con.prepareStatement(SELECT_ORDERED_BY_ID, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FETCH_SIZE);
+            return ps;
+        }, (ResultSetExtractor<T>) rs -> function.apply(new ResultSetIterator(rs)));
+    }
+
+    static Employee mapEmployee(ResultSet rs) throws SQLException {
+        final Date startDate = rs.getDate("start_date");
+        final Employee employee = new Employee(rs.getString("id"), rs.getString("login"), rs.getString("name"),
+                rs.getDouble("salary"), startDate != null ? startDate.toLocalDate() : null);
+        return employee.markNotNew();
+    }
+
+    static void setEmployee(PreparedStatement ps, Employee employee) throws SQLException {
+        ps.setString(1, employee.getId());
+        ps.setString(2, employee.getLogin());
+        ps.setString(3, employee.getName());
+        ps.setDouble(4, employee.getSalary());
+        ps.setDate(5, Date.valueOf(employee.getStartDate()));
+    }
+
+    private <T> int[] batchUpdate(String sql, List<T> items, ItemSetter<T> setter) {
+        return jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                setter.setValues(ps, items.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return items.size();
+            }
+        });
+    }
+
+    private interface ItemSetter<T> {
+        void setValues(PreparedStatement ps, T item) throws SQLException;
+    }
+
+    private static final class ResultSetIterator implements Iterator<Employee> {
+        private final ResultSet rs;
+        private Boolean hasNext;
+
+        private ResultSetIterator(ResultSet rs) {
+            this.rs = rs;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (hasNext == null) {
+                try {
+                    hasNext = rs.next();
+                } catch (SQLException e) {
+                    throw new UncategorizedSQLException("Reading employees ordered by id", SELECT_ORDERED_BY_ID, e);
+                }
+            }
+            return hasNext;
+        }
+
+        @Override
+        public Employee next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            hasNext = null;
+            try {
+                return mapEmployee(rs);
+            } catch (SQLException e) {
+                throw new UncategorizedSQLException("Reading employees ordered by id", SELECT_ORDERED_BY_ID, e);
+            }
+        }
+    }
+}
@@ -3,12 +3,48 @@ package com.department.hr.employeeManagement.repository;
 import com.department.hr.employeeManagement.entity.Employee;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, String> {
+public interface EmployeeRepository extends JpaRepository<Employee, String>, EmployeeRepositoryCustom {
     Page<Employee> findBySalaryGreaterThanEqualAndSalaryLessThan(Double minSalary, Double maxSalary, Pageable pageable);
 
+    /**
+     * Same as {@link #findBySalaryGreaterThanEqualAndSalaryLessThan} without the count query a {@link Page} needs.
+     */
+    List<Employee> findAllBySalaryGreaterThanEqualAndSalaryLessThan(Double minSalary, Double maxSalary, Pageable pageable);
+
+    /**
+     * Same as {@link #findAllBySalaryGreaterThanEqualAndSalaryLessThan} read through a forward only cursor. The
+     * stream must be consumed and closed within a transaction.
+     */
+    @QueryHints({@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")})
+    Stream<Employee> streamAllBySalaryGreaterThanEqualAndSalaryLessThan(Double minSalary, Double maxSalary, Pageable pageable);
+
+    long countBySalaryGreaterThanEqualAndSalaryLessThan(Double minSalary, Double maxSalary);
+
     boolean existsByLogin(String login);
+
+    @Query("select e.id from Employee e where e.login = :login")
+    Optional<String> findIdByLogin(@Param("login") String login);
+
+    /**
+     * Employees holding any of the ids or any of the logins, to resolve the uniqueness of many writes at once.
+     */
+    List<Employee> findByIdInOrLoginIn(Collection<String> ids, Collection<String> logins);
+
+    @Query("select e.id from Employee e where e.id in :ids")
+    List<String> findExistingIds(@Param("ids") Collection<String> ids);
 }
@@ -0,0 +1,32 @@
+package com.department.hr.employeeManagement.repository;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface EmployeeRepositoryCustom {
+
+    /**
+     * Keyset (seek) pagination over the salary range. Returns up to {@code limit} employees ordered by {@code orders}
+     * that come strictly after the row whose sort key values are {@code after}, without reading the skipped rows.
+     *
+     * @param orders the sort orders, must end with a unique property for the order to be total.
+     * @param after  the sort key values of the last row of the previous page, one per order, {@literal null} for the
+     *               first page.
+     * @param limit  the maximum number of employees, {@literal 0} for no limit.
+     */
+    List<Employee> findBySalaryRangeAfter(Double minSalary, Double maxSalary, List<Sort.Order> orders, List<Object> after, int limit);
+
+    /**
+     * Selects only the given employee properties over the salary range, one map per employee keyed by property in
+     * the order requested.
+     *
+     * @param limit the maximum number of employees, {@literal 0} for no limit.
+     */
+    List<Map<String, Object>> findFieldsBySalaryRange(Double minSalary, Double maxSalary, List<String> fields, List<Sort.Order> orders, long offset, int limit);
+
+    Optional<Map<String, Object>> findFieldsById(String id, List<String> fields);
+}
@@ -0,0 +1,127 @@
+package com.department.hr.employeeManagement.repository;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class EmployeeRepositoryImpl implements EmployeeRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Employee> findBySalaryRangeAfter(Double minSalary, Double maxSalary, List<Sort.Order> orders, List<Object> after, int limit) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Employee> query = cb.createQuery(Employee.class);
+        final Root<Employee> root = query.from(Employee.class);
+
+        final List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.greaterThanOrEqualTo(root.<Double>get("salary"), minSalary));
+        predicates.add(cb.lessThan(root.<Double>get("salary"), maxSalary));
+        if (after != null) {
+            predicates.add(seekPredicate(cb, root, orders, after));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+
+        final List<Order> orderBy = new ArrayList<>();
+        for (Sort.Order order : orders) {
+            orderBy.add(order.isAscending() ? cb.asc(root.get(order.getProperty())) : cb.desc(root.get(order.getProperty())));
+        }
+        query.orderBy(orderBy);
+
+        final TypedQuery<Employee> typedQuery = entityManager.createQuery(query);
+        if (limit > 0) {
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsBySalaryRange(Double minSalary, Double maxSalary, List<String> fields, List<Sort.Order> orders, long offset, int limit) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        final Root<Employee> root = query.from(Employee.class);
+        query.multiselect(selections(root, fields));
+        query.where(cb.greaterThanOrEqualTo(root.<Double>get("salary"), minSalary), cb.lessThan(root.<Double>get("salary"), maxSalary));
+
+        final List<Order> orderBy = new ArrayList<>();
+        for (Sort.Order order : orders) {
+            orderBy.add(order.isAscending() ? cb.asc(root.get(order.getProperty())) : cb.desc(root.get(order.getProperty())));
+        }
+        query.orderBy(orderBy);
+
+        final TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (limit > 0) {
+            typedQuery.setFirstResult((int) offset);
+            typedQuery.setMaxResults(limit);
+        }
+        return toMaps(typedQuery.getResultList(), fields);
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(String id, List<String> fields) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        final Root<Employee> root = query.from(Employee.class);
+        query.multiselect(selections(root, fields));
+        query.where(cb.equal(root.get("id"), id));
+        return toMaps(entityManager.createQuery(query).getResultList(), fields).stream().findFirst();
+    }
+
+    private List<Selection<?>> selections(Root<Employee> root, List<String> fields) {
+        final List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            selections.add(root.get(field).alias(field));
+        }
+        return selections;
+    }
+
+    private List<Map<String, Object>> toMaps(List<Tuple> tuples, List<String> fields) {
+        final List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            final Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : fields) {
+                row.put(field, tuple.get(field));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Expands {@code (k1, k2, ...) > (v1, v2, ...)} honouring the direction of each key, and adds the redundant
+     * {@code k1 >= v1} so that an index on the leading sort key can be used to seek to the start of the page.
+     */
+    private Predicate seekPredicate(CriteriaBuilder cb, Root<Employee> root, List<Sort.Order> orders, List<Object> after) {
+        Predicate equalPrefix = cb.conjunction();
+        final List<Predicate> alternatives = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            final Sort.Order order = orders.get(i);
+            final Path<?> path = root.get(order.getProperty());
+            alternatives.add(cb.and(equalPrefix, compare(cb, path, after.get(i), order.isAscending(), false)));
+            equalPrefix = cb.and(equalPrefix, cb.equal(path, after.get(i)));
+        }
+        final Sort.Order leading = orders.get(0);
+        return cb.and(compare(cb, root.get(leading.getProperty()), after.get(0), leading.isAscending(), true),
+                cb.or(alternatives.toArray(new Predicate[0])));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate compare(CriteriaBuilder cb, Path path, Object value, boolean ascending, boolean inclusive) {
+        final Comparable comparable = (Comparable) value;
+        if (ascending) {
+            return inclusive ? cb.greaterThanOrEqualTo(path, comparable) : cb.greaterThan(path, comparable);
+        }
+        return inclusive ? cb.lessThanOrEqualTo(path, comparable) : cb.lessThan(path, comparable);
+    }
+}
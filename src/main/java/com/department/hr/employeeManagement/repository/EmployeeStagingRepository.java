@@ -0,0 +1,108 @@
+package com.department.hr.employeeManagement.repository;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.vo.Clash;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Staging table for bulk loads, declared in {@code schema.sql}. Rows of a load are tagged with its load id, checked
+ * for clashes with set based statements and moved into the employee table in one statement.
+ */
+@Repository
+public class EmployeeStagingRepository {
+
+    static final String INSERT = "INSERT INTO employee_staging (load_id, row_no, id, login, name, salary, start_date) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    static final String MARK_DUPLICATE_IDS = "UPDATE employee_staging SET clash = 'DUPLICATE_ID' WHERE load_id = ? AND id IN " +
+            "(SELECT id FROM employee_staging WHERE load_id = ? GROUP BY id HAVING COUNT(*) > 1)";
+
+    static final String MARK_DUPLICATE_LOGINS = "UPDATE employee_staging s SET clash = 'DUPLICATE_LOGIN' WHERE s.load_id = ? AND s.clash IS NULL " +
+            "AND s.login IN (SELECT login FROM employee_staging WHERE load_id = ? GROUP BY login HAVING COUNT(*) > 1) " +
+            "AND NOT EXISTS (SELECT 1 FROM employee e WHERE e.login = s.login)";
+
+    static final String MARK_TAKEN_LOGINS = "UPDATE employee_staging s SET clash = 'LOGIN_TAKEN' WHERE s.load_id = ? AND s.clash IS NULL AND EXISTS " +
+            "(SELECT 1 FROM employee e WHERE e.login = s.login AND e.id <> s.id)";
+
+    static final String COUNT_EXISTING = "SELECT COUNT(*) FROM employee_staging s WHERE s.load_id = ? AND s.clash IS NULL AND EXISTS " +
+            "(SELECT 1 FROM employee e WHERE e.id = s.id)";
+
+    static final String MOVE = "MERGE INTO employee (id, login, name, salary, start_date) KEY (id) " +
+            "SELECT id, login, name, salary, start_date FROM employee_staging WHERE load_id = ? AND clash IS NULL";
+
+    static final String SELECT_CLASHES = "SELECT row_no, id, login, clash FROM employee_staging WHERE load_id = ? AND clash IS NOT NULL ORDER BY row_no LIMIT ?";
+
+    static final String COUNT_CLASHES = "SELECT COUNT(*) FROM employee_staging WHERE load_id = ? AND clash IS NOT NULL";
+
+    static final String DELETE_LOAD = "DELETE FROM employee_staging WHERE load_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EmployeeStagingRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void stage(String loadId, List<Long> rows, List<Employee> employees) {
+        jdbcTemplate.batchUpdate(INSERT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                final Employee employee = employees.get(i);
+                ps.setString(1, loadId);
+                ps.setLong(2, rows.get(i));
+                ps.setString(3, employee.getId());
+                ps.setString(4, employee.getLogin());
+                ps.setString(5, employee.getName());
+                ps.setDouble(6, employee.getSalary());
+                ps.setDate(7, Date.valueOf(employee.getStartDate()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return employees.size();
+            }
+        });
+    }
+
+    /**
+     * Flags rows whose id or login is duplicated within the load, and rows whose login belongs to another employee.
+     * Every row of a duplicated id is flagged, and so is every row of a duplicated login unless the login already
+     * belongs to an employee: the row of that employee keeps it and the other rows are flagged as taken.
+     */
+    public void markClashes(String loadId) {
+        jdbcTemplate.update(MARK_DUPLICATE_IDS, loadId, loadId);
+        jdbcTemplate.update(MARK_DUPLICATE_LOGINS, loadId, loadId);
+        jdbcTemplate.update(MARK_TAKEN_LOGINS, loadId);
+    }
+
+    public long countExisting(String loadId) {
+        return jdbcTemplate.queryForObject(COUNT_EXISTING, Long.class, loadId);
+    }
+
+    /**
+     * Inserts or replaces the employees of all rows without clashes.
+     *
+     * @return the number of rows moved.
+     */
+    public int moveValidRows(String loadId) {
+        return jdbcTemplate.update(MOVE, loadId);
+    }
+
+    public List<Clash> findClashes(String loadId, int limit) {
+        return jdbcTemplate.query(SELECT_CLASHES, (rs, rowNum) -> new Clash(rs.getLong("row_no"), rs.getString("id"),
+                rs.getString("login"), rs.getString("clash")), loadId, limit);
+    }
+
+    public long countClashes(String loadId) {
+        return jdbcTemplate.queryForObject(COUNT_CLASHES, Long.class, loadId);
+    }
+
+    public void deleteLoad(String loadId) {
+        jdbcTemplate.update(DELETE_LOAD, loadId);
+    }
+}
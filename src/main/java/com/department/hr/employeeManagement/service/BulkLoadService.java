@@ -0,0 +1,113 @@
+package com.department.hr.employeeManagement.service;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.exceptions.FileFormatException;
+import com.department.hr.employeeManagement.exceptions.InvalidFieldException;
+import com.department.hr.employeeManagement.repository.EmployeeStagingRepository;
+import com.department.hr.employeeManagement.validators.EmployeeValidator;
+import com.department.hr.employeeManagement.vo.BulkLoadReport;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bulk load of csv files through the staging table. Valid rows are streamed into the staging table in batches,
+ * duplicate ids and logins within the file and logins already taken by other employees are found with set based
+ * statements, and the remaining rows are merged into the employee table with a single statement. Uniqueness is thus
+ * checked by the database instead of loading existing employees.
+ */
+@Slf4j
+@Service
+public class BulkLoadService {
+
+    private static final int MAX_REPORTED = 1000;
+
+    private final EmployeeValidator validator;
+
+    private final CsvEmployeeReader reader;
+
+    private final EmployeeStagingRepository stagingRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EmployeeDataVersion dataVersion;
+
+    private final int chunkSize;
+
+    public BulkLoadService(EmployeeValidator validator, CsvEmployeeReader reader, EmployeeStagingRepository stagingRepository,
+                           TransactionTemplate transactionTemplate, EmployeeDataVersion dataVersion,
+                           @Value("${employee.upload.chunk-size:1000}") int chunkSize) {
+        this.validator = validator;
+        this.reader = reader;
+        this.stagingRepository = stagingRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.dataVersion = dataVersion;
+        this.chunkSize = chunkSize;
+    }
+
+    public BulkLoadReport load(MultipartFile file) throws FileFormatException, IOException {
+        validator.validateInputFile(file);
+        final String loadId = UUID.randomUUID().toString();
+        final BulkLoadReport report = new BulkLoadReport();
+        try {
+            stage(file, loadId, report);
+            transactionTemplate.execute(status -> {
+                stagingRepository.markClashes(loadId);
+                final long existing = stagingRepository.countExisting(loadId);
+                final int moved = stagingRepository.moveValidRows(loadId);
+                report.setUpdated(existing);
+                report.setInserted(moved - existing);
+                return moved;
+            });
+            report.setClashCount(stagingRepository.countClashes(loadId));
+            report.setClashes(stagingRepository.findClashes(loadId, MAX_REPORTED));
+        } finally {
+            dataVersion.changed();
+            stagingRepository.deleteLoad(loadId);
+        }
+        log.info("Bulk load {} finished, {} inserted, {} updated, {} invalid and {} clashing rows", loadId, report.getInserted(),
+                report.getUpdated(), report.getInvalid(), report.getClashCount());
+        return report;
+    }
+
+    private void stage(MultipartFile file, String loadId, BulkLoadReport report) throws IOException {
+        final List<Employee> employees = new ArrayList<>(chunkSize);
+        final List<Long> rows = new ArrayList<>(chunkSize);
+        try (CSVParser parser = reader.open(file)) {
+            for (CSVRecord record : parser) {
+                try {
+                    employees.add(reader.toEmployee(record));
+                    rows.add(record.getRecordNumber());
+                } catch (InvalidFieldException | IllegalArgumentException e) {
+                    report.setInvalid(report.getInvalid() + 1);
+                    if (report.getInvalidRows().size() < MAX_REPORTED) {
+                        report.getInvalidRows().add(String.format("row %d: %s", record.getRecordNumber(), e.getMessage()));
+                    }
+                }
+                if (employees.size() == chunkSize) {
+                    flush(loadId, rows, employees, report);
+                }
+            }
+            flush(loadId, rows, employees, report);
+        }
+    }
+
+    private void flush(String loadId, List<Long> rows, List<Employee> employees, BulkLoadReport report) {
+        if (employees.isEmpty()) {
+            return;
+        }
+        stagingRepository.stage(loadId, rows, employees);
+        report.setStaged(report.getStaged() + employees.size());
+        employees.clear();
+        rows.clear();
+    }
+}
@@ -0,0 +1,258 @@
+package com.department.hr.employeeManagement.service;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.exceptions.BadInputException;
+import com.department.hr.employeeManagement.exceptions.InvalidFieldException;
+import com.department.hr.employeeManagement.input.EmployeeOperation;
+import com.department.hr.employeeManagement.repository.EmployeeBatchRepository;
+import com.department.hr.employeeManagement.repository.EmployeeRepository;
+import com.department.hr.employeeManagement.validators.EmployeeValidator;
+import com.department.hr.employeeManagement.vo.BulkMutationSummary;
+import com.department.hr.employeeManagement.vo.OperationResult;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * Applies a JSON array of create, update and delete operations. The array is read element by element with a
+ * streaming parser, and operations are applied in chunks of {@code employee.upload.chunk-size}, each in its own
+ * transaction. Ids and logins of a chunk are resolved with a single query, every operation is checked against them
+ * in order, and the accepted ones are written with JDBC batches. Operations that fail are reported individually.
+ */
+@Slf4j
+@Service
+public class BulkMutationService {
+
+    static final String CREATE = "create";
+    static final String UPDATE = "update";
+    static final String DELETE = "delete";
+
+    private final ObjectMapper objectMapper;
+
+    private final EmployeeValidator validator;
+
+    private final EmployeeRepository repository;
+
+    private final EmployeeBatchRepository batchRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EmployeeDataVersion dataVersion;
+
+    private final int chunkSize;
+
+    public BulkMutationService(ObjectMapper objectMapper, EmployeeValidator validator, EmployeeRepository repository,
+                               EmployeeBatchRepository batchRepository, TransactionTemplate transactionTemplate,
+                               EmployeeDataVersion dataVersion, @Value("${employee.upload.chunk-size:1000}") int chunkSize) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.repository = repository;
+        this.batchRepository = batchRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.dataVersion = dataVersion;
+        this.chunkSize = chunkSize;
+    }
+
+    public BulkMutationSummary apply(InputStream inputStream) throws IOException, BadInputException {
+        final BulkMutationSummary summary = new BulkMutationSummary();
+        long index = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BadInputException("Expected a JSON array of operations");
+            }
+            final List<Pending> chunk = new ArrayList<>(chunkSize);
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new BadInputException(String.format("Unexpected end of input after %d operations, those were applied", index));
+                }
+                final JsonNode node = objectMapper.readTree(parser);
+                chunk.add(new Pending(index++, node));
+                if (chunk.size() == chunkSize) {
+                    applyChunk(chunk, summary);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                applyChunk(chunk, summary);
+            }
+        } catch (JsonProcessingException e) {
+            throw new BadInputException(String.format("Malformed JSON after %d operations, those were applied: %s", index, e.getOriginalMessage()));
+        }
+        log.info("Bulk mutation finished, {} operations succeeded and {} failed", summary.getSucceeded(), summary.getFailed());
+        return summary;
+    }
+
+    private void applyChunk(List<Pending> chunk, BulkMutationSummary summary) {
+        final List<Pending> valid = new ArrayList<>(chunk.size());
+        for (Pending pending : chunk) {
+            try {
+                pending.operation = toOperation(pending.node);
+                valid.add(pending);
+            } catch (InvalidFieldException | JsonProcessingException e) {
+                pending.error = e instanceof JsonProcessingException ? ((JsonProcessingException) e).getOriginalMessage() : e.getMessage();
+            }
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(valid));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Bulk mutation chunk rolled back", e);
+            valid.stream().filter(p -> p.error == null).forEach(p -> p.error = "Rolled back with its chunk, a concurrent change conflicted");
+        } finally {
+            dataVersion.changed();
+        }
+        for (Pending pending : chunk) {
+            final EmployeeOperation operation = pending.operation;
+            final String op = operation != null ? operation.getOp() : pending.node.path("op").asText(null);
+            final String id = operation != null ? operation.getId() : pending.node.path("id").asText(null);
+            final String status = pending.error == null ? op + "d" : "failed";
+            summary.add(new OperationResult(pending.index, op, id, status, pending.error));
+        }
+    }
+
+    /**
+     * Checks the operations in order against the employees holding their ids and logins, and writes the accepted
+     * ones. Consecutive operations of the same kind share a batch, so that writes happen in the order given.
+     */
+    private void write(List<Pending> operations) {
+        final Set<String> ids = new HashSet<>();
+        final Set<String> logins = new HashSet<>();
+        for (Pending pending : operations) {
+            ids.add(pending.operation.getId());
+            if (pending.operation.getLogin() != null) {
+                logins.add(pending.operation.getLogin());
+            }
+        }
+        final Map<String, String> loginsById = new HashMap<>();
+        final Map<String, String> idsByLogin = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Employee employee : repository.findByIdInOrLoginIn(ids, logins.isEmpty() ? Collections.singleton("") : logins)) {
+                loginsById.put(employee.getId(), employee.getLogin());
+                idsByLogin.put(employee.getLogin(), employee.getId());
+            }
+        }
+
+        final Batch batch = new Batch();
+        for (Pending pending : operations) {
+            final EmployeeOperation operation = pending.operation;
+            final String id = operation.getId();
+            final String currentLogin = loginsById.get(id);
+            final String loginOwner = operation.getLogin() != null ? idsByLogin.get(operation.getLogin()) : null;
+            switch (operation.getOp()) {
+                case CREATE:
+                    if (currentLogin != null) {
+                        pending.error = "Employee ID already exists";
+                    } else if (loginOwner != null) {
+                        pending.error = "Employee login not unique";
+                    } else {
+                        loginsById.put(id, operation.getLogin());
+                        idsByLogin.put(operation.getLogin(), id);
+                        batch.add(CREATE, toEmployee(operation));
+                    }
+                    break;
+                case UPDATE:
+                    if (currentLogin == null) {
+                        pending.error = "No such employee";
+                    } else if (loginOwner != null && !loginOwner.equals(id)) {
+                        pending.error = "Employee login not unique";
+                    } else {
+                        idsByLogin.remove(currentLogin);
+                        loginsById.put(id, operation.getLogin());
+                        idsByLogin.put(operation.getLogin(), id);
+                        batch.add(UPDATE, toEmployee(operation));
+                    }
+                    break;
+                default:
+                    if (currentLogin == null) {
+                        pending.error = "No such employee";
+                    } else {
+                        idsByLogin.remove(currentLogin);
+                        loginsById.remove(id);
+                        batch.add(DELETE, toEmployee(operation));
+                    }
+            }
+        }
+        batch.flush();
+    }
+
+    private EmployeeOperation toOperation(JsonNode node) throws JsonProcessingException, InvalidFieldException {
+        final EmployeeOperation operation = objectMapper.treeToValue(node, EmployeeOperation.class);
+        final String op = operation.getOp();
+        if (!CREATE.equals(op) && !UPDATE.equals(op) && !DELETE.equals(op)) {
+            throw new InvalidFieldException(String.format("Invalid op %s, op can only be one of create, update or delete", op));
+        }
+        validator.validateId(operation.getId(), "id");
+        if (DELETE.equals(op)) {
+            return operation;
+        }
+        validator.validateLogin(operation.getLogin(), "login");
+        validator.validateName(operation.getName(), "name");
+        if (operation.getSalary() == null) {
+            throw new InvalidFieldException("Invalid salary");
+        }
+        validator.validateSalary(operation.getSalary());
+        if (operation.getStartDate() == null) {
+            throw new InvalidFieldException("Invalid date");
+        }
+        return operation;
+    }
+
+    private Employee toEmployee(EmployeeOperation operation) {
+        return new Employee(operation.getId(), operation.getLogin(), operation.getName(), operation.getSalary(), operation.getStartDate());
+    }
+
+    private static final class Pending {
+        private final long index;
+        private final JsonNode node;
+        private EmployeeOperation operation;
+        private String error;
+
+        private Pending(long index, JsonNode node) {
+            this.index = index;
+            this.node = node;
+        }
+    }
+
+    private final class Batch {
+        private String kind;
+        private final List<Employee> employees = new ArrayList<>();
+
+        private void add(String kind, Employee employee) {
+            if (!kind.equals(this.kind)) {
+                flush();
+                this.kind = kind;
+            }
+            employees.add(employee);
+        }
+
+        private void flush() {
+            if (employees.isEmpty()) {
+                return;
+            }
+            switch (kind) {
+                case CREATE:
+                    batchRepository.insertAll(employees);
+                    break;
+                case UPDATE:
+                    batchRepository.updateAll(employees);
+                    break;
+                default:
+                    final List<String> ids = new ArrayList<>(employees.size());
+                    employees.forEach(e -> ids.add(e.getId()));
+                    batchRepository.deleteAllById(ids);
+            }
+            employees.clear();
+        }
+    }
+}
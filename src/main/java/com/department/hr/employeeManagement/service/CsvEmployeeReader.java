@@ -0,0 +1,50 @@
+package com.department.hr.employeeManagement.service;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.exceptions.InvalidFieldException;
+import com.department.hr.employeeManagement.validators.EmployeeValidator;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Opens uploaded csv files as a lazily iterated {@link CSVParser} and maps single records to {@link Employee}s,
+ * so that callers can process a file record by record instead of loading all of it.
+ */
+@Component
+public class CsvEmployeeReader {
+
+    public static final CSVFormat CSV_FORMAT = CSVFormat.DEFAULT.withFirstRecordAsHeader().withIgnoreHeaderCase().withTrim().withCommentMarker('#');
+
+    private final EmployeeValidator validator;
+
+    public CsvEmployeeReader(EmployeeValidator validator) {
+        this.validator = validator;
+    }
+
+    public CSVParser open(MultipartFile file) throws IOException {
+        return open(file.getInputStream());
+    }
+
+    public CSVParser open(InputStream inputStream) throws IOException {
+        return new CSVParser(new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)), CSV_FORMAT);
+    }
+
+    public Employee toEmployee(CSVRecord record) throws InvalidFieldException {
+        final String id = validator.validateId(record.get("id"), "id");
+        final String login = validator.validateLogin(record.get("login"), "login");
+        final String name = validator.validateName(record.get("name"), "name");
+        final Double salary = validator.validateAndGetSalary(record.get("salary"), "salary");
+        final LocalDate startDate = validator.validateAndGetStartDate(record.get("startDate"), "startDate");
+        return new Employee(id, login, name, salary, startDate);
+    }
+}
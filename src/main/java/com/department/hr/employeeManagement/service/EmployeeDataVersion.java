@@ -0,0 +1,26 @@
+package com.department.hr.employeeManagement.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generation counter of the employee table, incremented by every write path. Anything derived from the table can
+ * remember the generation it was computed at and treat itself as stale once the generation has moved on.
+ */
+@Component
+public class EmployeeDataVersion {
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public long current() {
+        return generation.get();
+    }
+
+    /**
+     * @return the new generation.
+     */
+    public long changed() {
+        return generation.incrementAndGet();
+    }
+}
@@ -0,0 +1,179 @@
+package com.department.hr.employeeManagement.service;
+
+import com.department.hr.employeeManagement.domain.BloomFilter;
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.repository.EmployeeBatchRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bloom filters over the ids and logins of all employees, enabled with {@code employee.create.existence-filter.enabled},
+ * so that patching or deleting an id no employee ever had, or moving an employee to a login no employee ever had, needs
+ * no query to find that out.
+ * <p>
+ * Single employee writes of {@link EmployeeService} are added as they happen. Logins replaced or employees deleted
+ * stay in the filters, which are rebuilt from the table once those exceed {@code rebuild-stale-ratio} of the
+ * entries. Any other write moves the {@link EmployeeDataVersion} past the filters, which are then rebuilt on the
+ * next check.
+ */
+@Slf4j
+@Component
+public class EmployeeExistenceFilter {
+
+    private final EmployeeBatchRepository batchRepository;
+
+    private final EmployeeDataVersion dataVersion;
+
+    private final boolean enabled;
+
+    private final long expectedEmployees;
+
+    private final double falsePositiveRate;
+
+    private final double rebuildStaleRatio;
+
+    private volatile Filters filters;
+
+    public EmployeeExistenceFilter(EmployeeBatchRepository batchRepository, EmployeeDataVersion dataVersion,
+                                   @Value("${employee.create.existence-filter.enabled:false}") boolean enabled,
+                                   @Value("${employee.create.existence-filter.expected-employees:100000}") long expectedEmployees,
+                                   @Value("${employee.create.existence-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                                   @Value("${employee.create.existence-filter.rebuild-stale-ratio:0.2}") double rebuildStaleRatio) {
+        this.batchRepository = batchRepository;
+        this.dataVersion = dataVersion;
+        this.enabled = enabled;
+        this.expectedEmployees = expectedEmployees;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rebuildStaleRatio = rebuildStaleRatio;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * @return {@literal false} if no employee has the id.
+     */
+    public boolean mightContainId(String id) {
+        return !enabled || current().ids.mightContain(id);
+    }
+
+    /**
+     * @return {@literal false} if no employee has the login.
+     */
+    public boolean mightContainLogin(String login) {
+        return !enabled || current().logins.mightContain(login);
+    }
+
+    /**
+     * Adds a created or updated employee, provided no other write happened since the filters were last current.
+     *
+     * @param previousLogin the login before an update, {@literal null} for a new employee.
+     * @param generation    the data version generation following the write.
+     */
+    public void saved(Employee employee, String previousLogin, long generation) {
+        if (previousLogin == null) {
+            added(employee, 1, 0, generation);
+        } else {
+            added(employee, 0, previousLogin.equals(employee.getLogin()) ? 0 : 1, generation);
+        }
+    }
+
+    /**
+     * Adds an updated employee whose previous login is not known.
+     *
+     * @param loginSupplied whether the update set the login, which is then counted as possibly replaced.
+     */
+    public void updated(Employee employee, boolean loginSupplied, long generation) {
+        added(employee, 0, loginSupplied ? 1 : 0, generation);
+    }
+
+    private synchronized void added(Employee employee, long added, long replaced, long generation) {
+        final Filters current = filters;
+        if (!enabled || current == null || current.generation != generation - 1) {
+            return;
+        }
+        current.ids.put(employee.getId());
+        current.logins.put(employee.getLogin());
+        filters = current.next(generation, added, replaced);
+    }
+
+    public synchronized void deleted(long generation) {
+        final Filters current = filters;
+        if (!enabled || current == null || current.generation != generation - 1) {
+            return;
+        }
+        filters = current.next(generation, 0, 1);
+    }
+
+    private Filters current() {
+        final Filters current = filters;
+        if (isCurrent(current, dataVersion.current())) {
+            return current;
+        }
+        return rebuild();
+    }
+
+    private synchronized Filters rebuild() {
+        final long generation = dataVersion.current();
+        final Filters current = filters;
+        if (isCurrent(current, generation)) {
+            return current;
+        }
+        final long start = System.currentTimeMillis();
+        final long capacity = Math.max(expectedEmployees, current != null ? 2 * current.size : 0);
+        final BloomFilter ids = BloomFilter.create(capacity, falsePositiveRate);
+        final BloomFilter logins = BloomFilter.create(capacity, falsePositiveRate);
+        final long size = batchRepository.withEmployeesOrderedById(employees -> {
+            long count = 0;
+            while (employees.hasNext()) {
+                final Employee employee = employees.next();
+                ids.put(employee.getId());
+                logins.put(employee.getLogin());
+                count++;
+            }
+            return count;
+        });
+        final Filters rebuilt = new Filters(generation, ids, logins, capacity, size, 0);
+        filters = rebuilt;
+        log.info("Built employee existence filters over {} employees in {} ms", size, System.currentTimeMillis() - start);
+        return rebuilt;
+    }
+
+    /**
+     * Filters are rebuilt when behind the table, when too many of their entries are stale, or when they hold more
+     * employees than they were sized for and the false positive rate is no longer met.
+     */
+    private boolean isCurrent(Filters current, long generation) {
+        return current != null && current.generation == generation
+                && current.stale <= current.size * rebuildStaleRatio && current.size <= current.capacity;
+    }
+
+    private static final class Filters {
+        private final long generation;
+        private final BloomFilter ids;
+        private final BloomFilter logins;
+        private final long capacity;
+        private final long size;
+        private final long stale;
+
+        private Filters(long generation, BloomFilter ids, BloomFilter logins, long capacity, long size, long stale) {
+            this.generation = generation;
+            this.ids = ids;
+            this.logins = logins;
+            this.capacity = capacity;
+            this.size = size;
+            this.stale = stale;
+        }
+
+        private Filters next(long generation, long added, long removed) {
+            return new Filters(generation, ids, logins, capacity, size + added, stale + removed);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.department.hr.employeeManagement.service;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.exceptions.BadInputException;
+import com.department.hr.employeeManagement.repository.EmployeeBatchRepository;
+import com.department.hr.employeeManagement.repository.EmployeeRepository;
+import com.department.hr.employeeManagement.vo.GroupCommitStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Optional group commit of single employee creates, enabled with {@code employee.create.group-commit.enabled}.
+ * Creates of concurrent requests are queued and written by one thread, which collects them for up to
+ * {@code window-millis} or {@code max-batch-size} creates and inserts them with one JDBC batch in one transaction.
+ * Ids and logins already taken are resolved for the whole batch with a single query, and every waiting request is
+ * then completed with its own outcome. If the batch still clashes with a concurrent write, its creates are retried
+ * one by one, each in a transaction of its own. A request that waits longer than {@code max-wait-millis} for its create to be
+ * picked up withdraws it, so that a create reported as timed out is never committed later.
+ */
+@Slf4j
+@Component
+public class EmployeeGroupCommitter {
+
+    private final EmployeeRepository repository;
+
+    private final EmployeeBatchRepository batchRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+
+    private final long windowNanos;
+
+    private final int maxBatchSize;
+
+    private final long maxWaitMillis;
+
+    private final BlockingQueue<PendingCreate> queue = new LinkedBlockingQueue<>();
+
+    private final GroupCommitStats stats = new GroupCommitStats();
+
+    private long totalCommitNanos;
+
+    private volatile boolean running;
+
+    private Thread committer;
+
+    public EmployeeGroupCommitter(EmployeeRepository repository, EmployeeBatchRepository batchRepository, TransactionTemplate transactionTemplate,
+                                  @Value("${employee.create.group-commit.enabled:false}") boolean enabled,
+                                  @Value("${employee.create.group-commit.window-millis:5}") long windowMillis,
+                                  @Value("${employee.create.group-commit.max-batch-size:200}") int maxBatchSize,
+                                  @Value("${employee.create.group-commit.max-wait-millis:30000}") long maxWaitMillis) {
+        this.repository = repository;
+        this.batchRepository = batchRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitMillis = maxWaitMillis;
+        this.stats.setEnabled(enabled);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            running = true;
+            committer = new Thread(this::run, "employee-group-commit");
+            committer.setDaemon(true);
+            committer.start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (committer != null) {
+            committer.interrupt();
+        }
+        final List<PendingCreate> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.stream()
+                .filter(PendingCreate::claim)
+                .forEach(p -> p.result.completeExceptionally(new IllegalStateException("Shutting down")));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues the create and waits until the batch it went into has been committed.
+     *
+     * @throws CancellationException if the create was not picked up in time, in which case it is never committed.
+     */
+    public void create(Employee employee) throws BadInputException {
+        final PendingCreate pending = new PendingCreate(employee);
+        queue.add(pending);
+        try {
+            try {
+                pending.result.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (pending.claim()) {
+                    queue.remove(pending);
+                    throw new CancellationException("Timed out waiting for the group commit, the employee was not created");
+                }
+                // already part of a batch being committed, its outcome is only moments away
+                pending.result.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof BadInputException) {
+                throw (BadInputException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public GroupCommitStats getStats() {
+        synchronized (stats) {
+            final GroupCommitStats copy = new GroupCommitStats();
+            copy.setEnabled(stats.isEnabled());
+            copy.setBatches(stats.getBatches());
+            copy.setOperations(stats.getOperations());
+            copy.setMaxBatchSize(stats.getMaxBatchSize());
+            copy.setAverageBatchSize(stats.getBatches() > 0 ? (double) stats.getOperations() / stats.getBatches() : 0);
+            copy.setAverageCommitMillis(stats.getBatches() > 0 ? totalCommitNanos / 1_000_000d / stats.getBatches() : 0);
+            copy.setMaxCommitMillis(stats.getMaxCommitMillis());
+            return copy;
+        }
+    }
+
+    private void run() {
+        final List<PendingCreate> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                final PendingCreate first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null || !first.claim()) {
+                    continue;
+                }
+                batch.add(first);
+                final long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    final PendingCreate next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    if (next.claim()) {
+                        batch.add(next);
+                    }
+                }
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(p -> p.result.completeExceptionally(e));
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Group commit of {} creates failed", batch.size(), e);
+                batch.forEach(p -> p.result.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingCreate> batch) {
+        final long start = System.nanoTime();
+        final List<PendingCreate> accepted = new ArrayList<>(batch.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                rejectTaken(batch, accepted);
+                final List<Employee> employees = new ArrayList<>(accepted.size());
+                accepted.forEach(p -> employees.add(p.employee));
+                batchRepository.insertAll(employees);
+            });
+        } catch (DuplicateKeyException e) {
+            log.debug("Group commit batch clashed with a concurrent write, inserting one by one", e);
+            for (PendingCreate pending : accepted) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> batchRepository.insert(pending.employee));
+                } catch (DuplicateKeyException ex) {
+                    pending.error = EmployeeBatchRepository.isLoginViolation(ex) ? "Employee login not unique" : "Employee ID already exists";
+                }
+            }
+        }
+        record(batch.size(), System.nanoTime() - start);
+        for (PendingCreate pending : batch) {
+            if (pending.error == null) {
+                pending.result.complete(null);
+            } else {
+                pending.result.completeExceptionally(new BadInputException(pending.error));
+            }
+        }
+    }
+
+    /**
+     * Rejects creates whose id or login is held by an existing employee or by an earlier create of the batch.
+     */
+    private void rejectTaken(List<PendingCreate> batch, List<PendingCreate> accepted) {
+        final Set<String> ids = new HashSet<>();
+        final Set<String> logins = new HashSet<>();
+        batch.forEach(p -> {
+            ids.add(p.employee.getId());
+            logins.add(p.employee.getLogin());
+        });
+        final Set<String> takenIds = new HashSet<>();
+        final Set<String> takenLogins = new HashSet<>();
+        for (Employee existing : repository.findByIdInOrLoginIn(ids, logins)) {
+            takenIds.add(existing.getId());
+            takenLogins.add(existing.getLogin());
+        }
+        for (PendingCreate pending : batch) {
+            if (takenIds.contains(pending.employee.getId())) {
+                pending.error = "Employee ID already exists";
+            } else if (takenLogins.contains(pending.employee.getLogin())) {
+                pending.error = "Employee login not unique";
+            } else {
+                takenIds.add(pending.employee.getId());
+                takenLogins.add(pending.employee.getLogin());
+                accepted.add(pending);
+            }
+        }
+    }
+
+    private void record(int batchSize, long commitNanos) {
+        synchronized (stats) {
+            stats.setBatches(stats.getBatches() + 1);
+            stats.setOperations(stats.getOperations() + batchSize);
+            stats.setMaxBatchSize(Math.max(stats.getMaxBatchSize(), batchSize));
+            stats.setMaxCommitMillis(Math.max(stats.getMaxCommitMillis(), commitNanos / 1_000_000d));
+            totalCommitNanos += commitNanos;
+        }
+    }
+
+    private static final class PendingCreate {
+        private final Employee employee;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private String error;
+
+        private PendingCreate(Employee employee) {
+            this.employee = employee;
+        }
+
+        /**
+         * Claims the create either for a batch or for its withdrawal, only the first claim succeeds.
+         */
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+}
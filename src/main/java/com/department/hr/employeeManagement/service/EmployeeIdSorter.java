@@ -0,0 +1,164 @@
+package com.department.hr.employeeManagement.service;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.exceptions.DuplicateDataException;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * External merge sort of employees by id. Employees are buffered up to {@code runSize}, each full buffer is sorted
+ * and spilled to a temporary csv file, and the runs are finally merged into one sorted file. Memory use is bounded
+ * by the run size whatever the number of employees.
+ */
+final class EmployeeIdSorter implements Closeable {
+
+    private static final int MAX_REPORTED_DUPLICATES = 100;
+
+    private final int runSize;
+    private final List<Employee> buffer;
+    private final List<Path> files = new ArrayList<>();
+    private final List<Path> runs = new ArrayList<>();
+
+    EmployeeIdSorter(int runSize) {
+        this.runSize = runSize;
+        this.buffer = new ArrayList<>(runSize);
+    }
+
+    void add(Employee employee) throws IOException {
+        buffer.add(employee);
+        if (buffer.size() == runSize) {
+            spill();
+        }
+    }
+
+    /**
+     * Merges all runs into a single file sorted by id.
+     *
+     * @throws DuplicateDataException if the same id was added more than once.
+     */
+    Path finish() throws IOException, DuplicateDataException {
+        if (!buffer.isEmpty() || runs.isEmpty()) {
+            spill();
+        }
+        final Path sorted = createFile();
+        final Set<String> duplicateIds = new LinkedHashSet<>();
+        final PriorityQueue<RunCursor> queue = new PriorityQueue<>(Comparator.comparing((RunCursor c) -> c.current.getId()));
+        try (Writer writer = Files.newBufferedWriter(sorted, StandardCharsets.UTF_8);
+             CSVPrinter printer = new CSVPrinter(writer, CSVFormat.DEFAULT)) {
+            for (Path run : runs) {
+                final RunCursor cursor = new RunCursor(open(run));
+                if (cursor.advance()) {
+                    queue.add(cursor);
+                } else {
+                    cursor.parser.close();
+                }
+            }
+            String previousId = null;
+            while (!queue.isEmpty()) {
+                final RunCursor cursor = queue.poll();
+                final Employee employee = cursor.current;
+                if (employee.getId().equals(previousId)) {
+                    if (duplicateIds.size() < MAX_REPORTED_DUPLICATES) {
+                        duplicateIds.add(employee.getId());
+                    }
+                } else {
+                    print(printer, employee);
+                    previousId = employee.getId();
+                }
+                if (cursor.advance()) {
+                    queue.add(cursor);
+                } else {
+                    cursor.parser.close();
+                }
+            }
+        } finally {
+            for (RunCursor cursor : queue) {
+                cursor.parser.close();
+            }
+        }
+        if (!duplicateIds.isEmpty()) {
+            throw new DuplicateDataException("Duplicate ids detected - " + duplicateIds);
+        }
+        return sorted;
+    }
+
+    static CSVParser open(Path file) throws IOException {
+        return new CSVParser(Files.newBufferedReader(file, StandardCharsets.UTF_8), CSVFormat.DEFAULT);
+    }
+
+    static Iterator<Employee> employees(CSVParser parser) {
+        final Iterator<CSVRecord> records = parser.iterator();
+        return new Iterator<Employee>() {
+            @Override
+            public boolean hasNext() {
+                return records.hasNext();
+            }
+
+            @Override
+            public Employee next() {
+                return toEmployee(records.next());
+            }
+        };
+    }
+
+    private void spill() throws IOException {
+        buffer.sort(Comparator.comparing(Employee::getId));
+        final Path run = createFile();
+        try (Writer writer = Files.newBufferedWriter(run, StandardCharsets.UTF_8);
+             CSVPrinter printer = new CSVPrinter(writer, CSVFormat.DEFAULT)) {
+            for (Employee employee : buffer) {
+                print(printer, employee);
+            }
+        }
+        runs.add(run);
+        buffer.clear();
+    }
+
+    private Path createFile() throws IOException {
+        final Path file = Files.createTempFile("employee-sync-", ".csv");
+        files.add(file);
+        return file;
+    }
+
+    private static void print(CSVPrinter printer, Employee employee) throws IOException {
+        printer.printRecord(employee.getId(), employee.getLogin(), employee.getName(), employee.getSalary(), employee.getStartDate());
+    }
+
+    private static Employee toEmployee(CSVRecord record) {
+        return new Employee(record.get(0), record.get(1), record.get(2), Double.valueOf(record.get(3)), LocalDate.parse(record.get(4)));
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Path file : files) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static final class RunCursor {
+        private final CSVParser parser;
+        private final Iterator<CSVRecord> records;
+        private Employee current;
+
+        private RunCursor(CSVParser parser) {
+            this.parser = parser;
+            this.records = parser.iterator();
+        }
+
+        private boolean advance() {
+            current = records.hasNext() ? toEmployee(records.next()) : null;
+            return current != null;
+        }
+    }
+}
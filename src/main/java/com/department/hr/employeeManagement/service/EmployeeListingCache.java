@@ -0,0 +1,143 @@
+package com.department.hr.employeeManagement.service;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.vo.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Results of recently requested salary range listings, enabled with {@code employee.listing.result-cache.enabled}.
+ * At most {@code max-entries} listings are kept, least recently used first out, and each for no longer than
+ * {@code ttl-millis}. The whole cache is dropped as soon as the {@link EmployeeDataVersion} moves on. Listings are
+ * stored and served as copies, so callers changing the employees they got cannot change what later callers see.
+ */
+@Component
+public class EmployeeListingCache {
+
+    private final EmployeeDataVersion dataVersion;
+
+    private final boolean enabled;
+
+    private final int maxEntries;
+
+    private final long ttlMillis;
+
+    private final Map<String, Entry> entries;
+
+    private long generation;
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;
+
+    private long expirations;
+
+    private long invalidations;
+
+    public EmployeeListingCache(EmployeeDataVersion dataVersion,
+                                @Value("${employee.listing.result-cache.enabled:false}") boolean enabled,
+                                @Value("${employee.listing.result-cache.max-entries:256}") int maxEntries,
+                                @Value("${employee.listing.result-cache.ttl-millis:30000}") long ttlMillis) {
+        this.dataVersion = dataVersion;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > EmployeeListingCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached listing for the key or loads and caches it. A listing loaded while the table changed is
+     * returned but not cached.
+     *
+     * @param key the normalized query.
+     */
+    public List<Employee> get(String key, Supplier<List<Employee>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        final long loadGeneration = dataVersion.current();
+        final long now = System.currentTimeMillis();
+        synchronized (entries) {
+            invalidateIfChanged(loadGeneration);
+            final Entry cached = entries.get(key);
+            if (cached != null && now - cached.loadedAt < ttlMillis) {
+                hits++;
+                return copyOf(cached.employees);
+            }
+            if (cached != null) {
+                entries.remove(key);
+                expirations++;
+            }
+            misses++;
+        }
+        final List<Employee> employees = loader.get();
+        synchronized (entries) {
+            if (generation == loadGeneration && dataVersion.current() == loadGeneration) {
+                entries.put(key, new Entry(copyOf(employees), now));
+            }
+        }
+        return employees;
+    }
+
+    public CacheStats getStats() {
+        final CacheStats stats = new CacheStats();
+        stats.setEnabled(enabled);
+        stats.setMaxSize(maxEntries);
+        synchronized (entries) {
+            stats.setSize(entries.size());
+            stats.setHits(hits);
+            stats.setMisses(misses);
+            stats.setEvictions(evictions);
+            stats.setExpirations(expirations);
+            stats.setInvalidations(invalidations);
+            stats.setHitRatio(hits + misses > 0 ? (double) hits / (hits + misses) : 0);
+        }
+        return stats;
+    }
+
+    private static List<Employee> copyOf(List<Employee> employees) {
+        final List<Employee> copies = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            copies.add(employee.copy());
+        }
+        return Collections.unmodifiableList(copies);
+    }
+
+    private void invalidateIfChanged(long currentGeneration) {
+        if (generation != currentGeneration) {
+            if (!entries.isEmpty()) {
+                invalidations++;
+                entries.clear();
+            }
+            generation = currentGeneration;
+        }
+    }
+
+    private static final class Entry {
+        private final List<Employee> employees;
+        private final long loadedAt;
+
+        private Entry(List<Employee> employees, long loadedAt) {
+            this.employees = employees;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
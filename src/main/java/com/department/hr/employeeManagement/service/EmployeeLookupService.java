@@ -0,0 +1,61 @@
+package com.department.hr.employeeManagement.service;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.exceptions.BadInputException;
+import com.department.hr.employeeManagement.repository.EmployeeRepository;
+import com.department.hr.employeeManagement.vo.LookupResults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Looks up many employees by id at once with one {@code IN} query per {@code employee.lookup.chunk-size} ids.
+ */
+@Service
+public class EmployeeLookupService {
+
+    private final EmployeeRepository repository;
+
+    private final int maxBatchSize;
+
+    private final int chunkSize;
+
+    public EmployeeLookupService(EmployeeRepository repository,
+                                 @Value("${employee.lookup.max-batch-size:1000}") int maxBatchSize,
+                                 @Value("${employee.lookup.chunk-size:500}") int chunkSize) {
+        this.repository = repository;
+        this.maxBatchSize = maxBatchSize;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Employees found are returned in the order their ids were given, repeated ids only once.
+     */
+    public LookupResults lookup(List<String> ids) throws BadInputException {
+        final List<String> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distinctIds.size() > maxBatchSize) {
+            throw new BadInputException(String.format("At most %d ids can be looked up at once", maxBatchSize));
+        }
+        final Map<String, Employee> employeesById = new HashMap<>(distinctIds.size() * 2);
+        for (int from = 0; from < distinctIds.size(); from += chunkSize) {
+            final List<String> chunk = distinctIds.subList(from, Math.min(from + chunkSize, distinctIds.size()));
+            repository.findAllById(chunk).forEach(e -> employeesById.put(e.getId(), e));
+        }
+
+        final LookupResults results = new LookupResults();
+        for (String id : distinctIds) {
+            final Employee employee = employeesById.get(id);
+            if (employee != null) {
+                results.getFound().add(employee);
+            } else {
+                results.getMissing().add(id);
+            }
+        }
+        return results;
+    }
+}
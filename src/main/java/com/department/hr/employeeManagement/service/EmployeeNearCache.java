@@ -0,0 +1,249 @@
+package com.department.hr.employeeManagement.service;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.vo.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Employees by id and employee ids by login, looked up once and then served from memory, enabled with
+ * {@code employee.lookup.cache.enabled}. Lookups which found nothing are remembered as well. Each map keeps at most
+ * {@code max-entries} entries, least recently used first out, and each for no longer than {@code ttl-millis}.
+ * <p>
+ * Single employee writes of {@link EmployeeService} are written through. Any other write moves the
+ * {@link EmployeeDataVersion} past the cache, which is then cleared on the next lookup.
+ */
+@Component
+public class EmployeeNearCache {
+
+    private final EmployeeDataVersion dataVersion;
+
+    private final boolean enabled;
+
+    private final int maxEntries;
+
+    private final long ttlMillis;
+
+    private final LruMap<Employee> employeesById = new LruMap<>();
+
+    private final LruMap<String> idsByLogin = new LruMap<String>() {
+        @Override
+        void linked(String login, String id) {
+            loginsById.put(id, login);
+        }
+
+        @Override
+        void unlinked(String login, String id) {
+            loginsById.remove(id, login);
+        }
+    };
+
+    /**
+     * The login of each id found in {@link #idsByLogin}, so an update can forget the login that led to the id.
+     */
+    private final Map<String, String> loginsById = new HashMap<>();
+
+    private volatile long generation;
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;
+
+    private long expirations;
+
+    private long invalidations;
+
+    public EmployeeNearCache(EmployeeDataVersion dataVersion,
+                             @Value("${employee.lookup.cache.enabled:false}") boolean enabled,
+                             @Value("${employee.lookup.cache.max-entries:10000}") int maxEntries,
+                             @Value("${employee.lookup.cache.ttl-millis:300000}") long ttlMillis) {
+        this.dataVersion = dataVersion;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.generation = dataVersion.current();
+    }
+
+    public Optional<Employee> findById(String id, Function<String, Optional<Employee>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        final Employee cached = lookup(employeesById, id, e -> loader.apply(e).map(Employee::copy).orElse(null));
+        return Optional.ofNullable(cached).map(Employee::copy);
+    }
+
+    public Optional<String> findIdByLogin(String login, Function<String, Optional<String>> loader) {
+        if (!enabled) {
+            return loader.apply(login);
+        }
+        return Optional.ofNullable(lookup(idsByLogin, login, l -> loader.apply(l).orElse(null)));
+    }
+
+    /**
+     * Writes a created or updated employee through.
+     *
+     * @param previousLogin the login before an update, {@literal null} for a new employee.
+     * @param generation    the data version generation following the write.
+     */
+    public synchronized void saved(Employee employee, String previousLogin, long generation) {
+        if (!enabled || !advanceTo(generation)) {
+            return;
+        }
+        if (previousLogin != null && !previousLogin.equals(employee.getLogin())) {
+            idsByLogin.store(previousLogin, null);
+        }
+        employeesById.store(employee.getId(), employee.copy());
+        idsByLogin.store(employee.getLogin(), employee.getId());
+    }
+
+    /**
+     * Writes an updated employee through when its previous login is not known, forgetting any login that led to it.
+     */
+    public synchronized void updated(Employee employee, long generation) {
+        saved(employee, loginsById.get(employee.getId()), generation);
+    }
+
+    /**
+     * Writes a deletion through, forgetting the login that led to the id.
+     */
+    public synchronized void deleted(String id, long generation) {
+        if (!enabled || !advanceTo(generation)) {
+            return;
+        }
+        final String login = loginsById.get(id);
+        employeesById.store(id, null);
+        if (login != null) {
+            idsByLogin.store(login, null);
+        }
+    }
+
+    public synchronized CacheStats getStats() {
+        final CacheStats stats = new CacheStats();
+        stats.setEnabled(enabled);
+        stats.setSize(employeesById.size() + idsByLogin.size());
+        stats.setMaxSize(2L * maxEntries);
+        stats.setHits(hits);
+        stats.setMisses(misses);
+        stats.setEvictions(evictions);
+        stats.setExpirations(expirations);
+        stats.setInvalidations(invalidations);
+        stats.setHitRatio(hits + misses > 0 ? (double) hits / (hits + misses) : 0);
+        return stats;
+    }
+
+    private <V> V lookup(LruMap<V> entries, String key, Function<String, V> loader) {
+        final long loadGeneration = dataVersion.current();
+        synchronized (this) {
+            if (loadGeneration != generation) {
+                clear();
+                generation = loadGeneration;
+            }
+            final Entry<V> cached = entries.get(key);
+            if (cached != null && System.currentTimeMillis() - cached.loadedAt < ttlMillis) {
+                hits++;
+                return cached.value;
+            }
+            if (cached != null) {
+                entries.drop(key);
+                expirations++;
+            }
+            misses++;
+        }
+        final V loaded = loader.apply(key);
+        synchronized (this) {
+            if (generation == loadGeneration && dataVersion.current() == loadGeneration) {
+                entries.store(key, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Moves the cache to the generation of a write, clearing it unless the write is the only change since the
+     * cache was last current.
+     */
+    private boolean advanceTo(long writeGeneration) {
+        final boolean consecutive = generation == writeGeneration - 1;
+        if (!consecutive) {
+            clear();
+        }
+        generation = writeGeneration;
+        return consecutive;
+    }
+
+    private void clear() {
+        if (!employeesById.isEmpty() || !idsByLogin.isEmpty()) {
+            invalidations++;
+        }
+        employeesById.clear();
+        idsByLogin.clear();
+        loginsById.clear();
+    }
+
+    /**
+     * Entries in access order, dropping the least recently used one once more than {@code max-entries} are kept.
+     * Guarded by the cache.
+     */
+    private class LruMap<V> extends LinkedHashMap<String, Entry<V>> {
+
+        private LruMap() {
+            super(16, 0.75f, true);
+        }
+
+        private void store(String key, V value) {
+            unlink(key, put(key, new Entry<>(value)));
+            if (value != null) {
+                linked(key, value);
+            }
+        }
+
+        private void drop(String key) {
+            unlink(key, remove(key));
+        }
+
+        /**
+         * Called with each key stored with a value, once it is the key's current value.
+         */
+        void linked(String key, V value) {
+        }
+
+        /**
+         * Called with each key and value which is replaced, dropped or evicted, not when the map is cleared.
+         */
+        void unlinked(String key, V value) {
+        }
+
+        private void unlink(String key, Entry<V> entry) {
+            if (entry != null && entry.value != null) {
+                unlinked(key, entry.value);
+            }
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+            if (size() > maxEntries) {
+                evictions++;
+                unlink(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long loadedAt = System.currentTimeMillis();
+
+        private Entry(V value) {
+            this.value = value;
+        }
+    }
+}
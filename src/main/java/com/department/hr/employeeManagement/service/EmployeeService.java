@@ -1,5 +1,6 @@
 package com.department.hr.employeeManagement.service;
 
+import com.department.hr.employeeManagement.domain.KeysetCursor;
 import com.department.hr.employeeManagement.domain.OffsetBasedPageRequest;
 import com.department.hr.employeeManagement.domain.SortedUnpaged;
 import com.department.hr.employeeManagement.entity.Employee;
@@ -8,14 +9,22 @@ import com.department.hr.employeeManagement.exceptions.DuplicateDataException;
 import com.department.hr.employeeManagement.exceptions.FileFormatException;
 import com.department.hr.employeeManagement.exceptions.InvalidFieldException;
 import com.department.hr.employeeManagement.input.UpdateEmployee;
+import com.department.hr.employeeManagement.repository.EmployeeBatchRepository;
 import com.department.hr.employeeManagement.repository.EmployeeRepository;
+import com.department.hr.employeeManagement.validators.DuplicateRecordDetector;
 import com.department.hr.employeeManagement.validators.EmployeeValidator;
+import com.department.hr.employeeManagement.vo.CacheStats;
+import com.department.hr.employeeManagement.vo.CoalescingStats;
+import com.department.hr.employeeManagement.vo.DuplicateReport;
+import com.department.hr.employeeManagement.vo.GroupCommitStats;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -26,6 +35,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -33,102 +43,248 @@ import java.util.stream.Collectors;
 @Service
 public class EmployeeService {
 
+    private static final int EXISTING_ID_LOOKUP_SIZE = 1000;
+
     @Autowired
     private final EmployeeValidator validator;
 
     @Autowired
     private final EmployeeRepository repository;
 
-    public EmployeeService(EmployeeValidator validator, EmployeeRepository repository) {
+    @Autowired
+    private final EmployeeBatchRepository batchRepository;
+
+    @Autowired
+    private final DuplicateRecordDetector duplicateDetector;
+
+    @Autowired
+    private final ParallelRecordValidator recordValidator;
+
+    @Autowired
+    private final EmployeeDataVersion dataVersion;
+
+    @Autowired
+    private final SalaryRangeCountCache countCache;
+
+    @Autowired
+    private final EmployeeSnapshotEngine snapshotEngine;
+
+    @Autowired
+    private final EmployeeListingCache listingCache;
+
+    @Autowired
+    private final EmployeeNearCache nearCache;
+
+    @Autowired
+    private final EmployeeExistenceFilter existenceFilter;
+
+    @Autowired
+    private final EmployeeGroupCommitter groupCommitter;
+
+    @Autowired
+    private final ListingQueryCoalescer queryCoalescer;
+
+    public EmployeeService(EmployeeValidator validator, EmployeeRepository repository, EmployeeBatchRepository batchRepository, DuplicateRecordDetector duplicateDetector,
+                           ParallelRecordValidator recordValidator, EmployeeDataVersion dataVersion, SalaryRangeCountCache countCache,
+                           EmployeeSnapshotEngine snapshotEngine, EmployeeListingCache listingCache, EmployeeNearCache nearCache,
+                           EmployeeExistenceFilter existenceFilter, EmployeeGroupCommitter groupCommitter, ListingQueryCoalescer queryCoalescer) {
         this.validator = validator;
         this.repository = repository;
+        this.batchRepository = batchRepository;
+        this.duplicateDetector = duplicateDetector;
+        this.recordValidator = recordValidator;
+        this.dataVersion = dataVersion;
+        this.countCache = countCache;
+        this.snapshotEngine = snapshotEngine;
+        this.listingCache = listingCache;
+        this.nearCache = nearCache;
+        this.existenceFilter = existenceFilter;
+        this.groupCommitter = groupCommitter;
+        this.queryCoalescer = queryCoalescer;
     }
 
     public List uploadData(MultipartFile file) throws FileFormatException, IOException, DuplicateDataException, BadInputException {
         validator.validateInputFile(file);
         final List<Employee> entitiesFromFile = getEntitiesFromFile(file);
-        return repository.saveAll(entitiesFromFile);
+        markExistingEmployees(entitiesFromFile);
+        try {
+            return repository.saveAll(entitiesFromFile);
+        } finally {
+            dataVersion.changed();
+        }
     }
 
-    protected List<Employee> getEntitiesFromFile(MultipartFile file) throws IOException, DuplicateDataException, BadInputException {
-        final List<CSVRecord> records = processCSVFile(file);
-        List<Employee> employeesToSave = records.stream().map(r -> {
-            try {
-                return createEmployee(r);
-            } catch (InvalidFieldException e) {
-                throw new RuntimeException(e);
-            }
-        }).collect(Collectors.toList());
-
-        checkForDuplicateRecords(employeesToSave);
-
-        checkForNonUniqueLogin(employeesToSave);
-        return employeesToSave;
+    /**
+     * Uploaded employees replace existing ones with the same id, those are looked up in chunks so that only
+     * genuinely new employees are inserted without a select per row.
+     */
+    private void markExistingEmployees(List<Employee> employees) {
+        for (int from = 0; from < employees.size(); from += EXISTING_ID_LOOKUP_SIZE) {
+            final List<Employee> chunk = employees.subList(from, Math.min(from + EXISTING_ID_LOOKUP_SIZE, employees.size()));
+            final Set<String> existingIds = new HashSet<>(repository.findExistingIds(chunk.stream().map(Employee::getId).collect(Collectors.toList())));
+            chunk.stream().filter(e -> existingIds.contains(e.getId())).forEach(Employee::markNotNew);
+        }
     }
 
-    private void checkForNonUniqueLogin(List<Employee> employeesToSave) throws DuplicateDataException, BadInputException {
-        final List<String> logins = employeesToSave.stream().map(Employee::getLogin).collect(Collectors.toList());
-
-        Set<String> duplicateLogins = logins.stream()
-                .filter(i -> Collections.frequency(logins, i) > 1)
-                .collect(Collectors.toSet());
-        if (duplicateLogins.size() != 0) {
-            throw new DuplicateDataException("Duplicate login ids detected - " + duplicateLogins);
+    protected List<Employee> getEntitiesFromFile(MultipartFile file) throws IOException, DuplicateDataException, BadInputException {
+        final List<CSVRecord> records = processCSVFile(file);
+        final List<Employee> employeesToSave;
+        try {
+            employeesToSave = recordValidator.toEmployees(records);
+        } catch (InvalidFieldException e) {
+            throw new RuntimeException(e);
         }
 
-//        List<Employee> all = repository.findAll();
-//        Set<String> nonAvailableLoginIds = all.stream().map(Employee::getLogin).collect(Collectors.toSet());
-//        logins.retainAll(nonAvailableLoginIds);
-//        if (logins.size() > 0) {
-//            throw new BadInputException("Following login ids are unavailable - " + logins);
-//        }
-
+        final DuplicateReport duplicateReport = duplicateDetector.detect(employeesToSave, i -> records.get(i).getRecordNumber());
+        if (duplicateReport.hasDuplicates()) {
+            throw new DuplicateDataException(duplicateReport.describe());
+        }
+        return employeesToSave;
     }
 
     protected List<CSVRecord> processCSVFile(MultipartFile file) throws IOException {
         final List<CSVRecord> records;
         final InputStream inputStream = file.getInputStream();
         try (BufferedReader fileReader = new BufferedReader(new InputStreamReader(inputStream, "UTF-8"));
-             CSVParser csvParser = new CSVParser(fileReader,
-                     CSVFormat.DEFAULT.withFirstRecordAsHeader().withIgnoreHeaderCase().withTrim().withCommentMarker('#'))) {
+             CSVParser csvParser = new CSVParser(fileReader, CsvEmployeeReader.CSV_FORMAT)) {
             records = csvParser.getRecords();
         }
         return records;
     }
 
-    private void checkForDuplicateRecords(List<Employee> employeesToSave) throws DuplicateDataException {
-        final List<String> ids = employeesToSave.stream()
-                .map(Employee::getId)
+    public List<Employee> fetchEmployees(Double minSalary, Double maxSalary, Integer offset, Integer limit, String sortFieldsAndDirection) {
+        final List<Sort.Order> sortOrderList = getSortOrderList(sortFieldsAndDirection);
+        final List<Sort.Order> orders = limit > 0 ? withIdTieBreaker(sortOrderList) : sortOrderList;
+        final String key = minSalary + ":" + maxSalary + ":" + offset + ":" + Math.max(limit, 0) + ":" + toSortKey(orders);
+        return listingCache.get(key, () -> queryCoalescer.get(dataVersion.current() + "@" + key, () -> loadEmployees(minSalary, maxSalary, offset, limit, orders)));
+    }
+
+    private List<Employee> loadEmployees(Double minSalary, Double maxSalary, Integer offset, Integer limit, List<Sort.Order> orders) {
+        if (snapshotEngine.isEnabled()) {
+            return snapshotEngine.fetchEmployees(minSalary, maxSalary, offset, limit, orders);
+        }
+        if (limit > 0) {
+            Pageable pageable = new OffsetBasedPageRequest(offset, limit, Sort.by(orders));
+            final List<Employee> pagedResults = repository.findAllBySalaryGreaterThanEqualAndSalaryLessThan(minSalary, maxSalary, pageable);
+            return pagedResults != null ? pagedResults : Collections.emptyList();
+        }
+        final List<Employee> sortedResults = repository.findAllBySalaryGreaterThanEqualAndSalaryLessThan(minSalary, maxSalary, SortedUnpaged.getInstance(Sort.by(orders)));
+        return sortedResults != null ? sortedResults : Collections.emptyList();
+    }
+
+    public CacheStats getListingCacheStats() {
+        return listingCache.getStats();
+    }
+
+    public CacheStats getLookupCacheStats() {
+        return nearCache.getStats();
+    }
+
+    public CoalescingStats getCoalescingStats() {
+        return queryCoalescer.getStats();
+    }
+
+    public GroupCommitStats getGroupCommitStats() {
+        return groupCommitter.getStats();
+    }
+
+    /**
+     * Same as {@link #fetchEmployees} selecting only the requested fields.
+     *
+     * @param fields comma separated employee properties.
+     */
+    public List<Map<String, Object>> fetchEmployeeFields(Double minSalary, Double maxSalary, Integer offset, Integer limit, String sortFieldsAndDirection, String fields) throws BadInputException {
+        final List<String> fieldList = getFieldList(fields);
+        final List<Sort.Order> sortOrderList = getSortOrderList(sortFieldsAndDirection);
+        final List<Sort.Order> orders = limit > 0 ? withIdTieBreaker(sortOrderList) : sortOrderList;
+        return repository.findFieldsBySalaryRange(minSalary, maxSalary, fieldList, orders, offset, Math.max(limit, 0));
+    }
+
+    public Map<String, Object> getEmployeeFieldsById(String id, String fields) throws BadInputException {
+        final Optional<Map<String, Object>> employee = repository.findFieldsById(id, getFieldList(fields));
+        if (!employee.isPresent()) {
+            throw new BadInputException("No such employee");
+        }
+        return employee.get();
+    }
+
+    protected List<String> getFieldList(String fields) throws BadInputException {
+        final List<String> fieldList = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(f -> !f.isEmpty())
+                .distinct()
                 .collect(Collectors.toList());
+        if (fieldList.isEmpty()) {
+            throw new BadInputException("fields cannot be empty");
+        }
+        for (String field : fieldList) {
+            validator.validateField(field);
+        }
+        return fieldList;
+    }
 
-        Set<String> duplicateIds = ids.stream()
-                .filter(i -> Collections.frequency(ids, i) > 1)
-                .collect(Collectors.toSet());
+    public long countEmployees(Double minSalary, Double maxSalary) {
+        return countCache.count(minSalary, maxSalary);
+    }
 
-        if (duplicateIds.size() != 0) {
-            throw new DuplicateDataException("Duplicate ids detected - " + duplicateIds);
+    /**
+     * Fetches the page following the row described by the continuation token, seeking past it instead of skipping
+     * an offset.
+     */
+    public List<Employee> fetchEmployeesAfter(Double minSalary, Double maxSalary, String continuationToken, Integer limit, String sortFieldsAndDirection) throws BadInputException {
+        final List<Sort.Order> sortOrderList = withIdTieBreaker(getSortOrderList(sortFieldsAndDirection));
+        final KeysetCursor cursor = KeysetCursor.decode(continuationToken);
+        if (!cursor.getSort().equals(toSortKey(sortOrderList)) || cursor.getValues().size() != sortOrderList.size()) {
+            throw new BadInputException("Continuation token does not match orderByfieldAndDirection");
+        }
+        final List<Object> after = new ArrayList<>(sortOrderList.size());
+        for (int i = 0; i < sortOrderList.size(); i++) {
+            after.add(parseSortKeyValue(sortOrderList.get(i).getProperty(), cursor.getValues().get(i)));
         }
+        return repository.findBySalaryRangeAfter(minSalary, maxSalary, sortOrderList, after, limit);
     }
 
-    private Employee createEmployee(CSVRecord record) throws InvalidFieldException {
-        final String id = validator.validateId(record.get("id"), "id");
-        final String login = validator.validateLogin(record.get("login"), "login");
-        final String name = validator.validateName(record.get("name"), "name");
-        final Double salary = validator.validateAndGetSalary(record.get("salary"), "salary");
-        final LocalDate startDate = validator.validateAndGetStartDate(record.get("startDate"), "startDate");
-        return new Employee(id, login, name, salary, startDate);
+    public String getContinuationToken(Employee lastEmployee, String sortFieldsAndDirection) {
+        final List<Sort.Order> sortOrderList = withIdTieBreaker(getSortOrderList(sortFieldsAndDirection));
+        final BeanWrapper employee = PropertyAccessorFactory.forBeanPropertyAccess(lastEmployee);
+        final List<String> values = sortOrderList.stream()
+                .map(o -> String.valueOf(employee.getPropertyValue(o.getProperty())))
+                .collect(Collectors.toList());
+        return new KeysetCursor(toSortKey(sortOrderList), values).encode();
     }
 
-    public List<Employee> fetchEmployees(Double minSalary, Double maxSalary, Integer offset, Integer limit, String sortFieldsAndDirection) {
-        final List<Sort.Order> sortOrderList = getSortOrderList(sortFieldsAndDirection);
+    /**
+     * Appends the id to the sort orders unless already present, so that rows with equal sort values are always
+     * returned in the same order and pages neither overlap nor skip rows.
+     */
+    protected List<Sort.Order> withIdTieBreaker(List<Sort.Order> sortOrderList) {
+        if (sortOrderList.stream().anyMatch(o -> o.getProperty().equals("id"))) {
+            return sortOrderList;
+        }
+        final List<Sort.Order> orders = new ArrayList<>(sortOrderList);
+        orders.add(Sort.Order.asc("id"));
+        return orders;
+    }
 
-        if (limit > 0) {
-            Pageable pageable = new OffsetBasedPageRequest(offset, limit, Sort.by(sortOrderList));
-            final Page<Employee> pagedResults = repository.findBySalaryGreaterThanEqualAndSalaryLessThan(minSalary, maxSalary, pageable);
-            return pagedResults != null ? pagedResults.getContent() : Collections.emptyList();
+    private String toSortKey(List<Sort.Order> sortOrderList) {
+        return sortOrderList.stream()
+                .map(o -> o.getProperty() + "-" + o.getDirection().name().toLowerCase())
+                .collect(Collectors.joining(","));
+    }
+
+    private Object parseSortKeyValue(String field, String value) throws BadInputException {
+        final Class<?> type = BeanUtils.getPropertyDescriptor(Employee.class, field).getPropertyType();
+        try {
+            if (Double.class.equals(type)) {
+                return Double.valueOf(value);
+            }
+            if (LocalDate.class.equals(type)) {
+                return LocalDate.parse(value);
+            }
+            return value;
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new BadInputException("Invalid continuation token");
         }
-        final Page<Employee> sortedResults = repository.findBySalaryGreaterThanEqualAndSalaryLessThan(minSalary, maxSalary, SortedUnpaged.getInstance(Sort.by(sortOrderList)));
-        return sortedResults != null ? sortedResults.getContent() : Collections.emptyList();
     }
 
     protected List<Sort.Order> getSortOrderList(String sortFieldsWithDirection) {
@@ -154,27 +310,36 @@ public class EmployeeService {
     }
 
     public Employee getEmployeeById(String id) throws BadInputException {
-        final Optional<Employee> employee = repository.findById(id);
+        final Optional<Employee> employee = findById(id);
         if (!employee.isPresent()) {
             throw new BadInputException("No such employee");
         }
         return employee.get();
     }
 
+    /**
+     * Inserts the employee with a single statement, an id or login already taken being reported from the primary key
+     * or unique constraint rather than checked beforehand. In group commit mode the insert is batched with those of
+     * concurrent requests.
+     */
     public String createEmployee(Employee inputEmployee) throws InvalidFieldException, BadInputException {
-        final String id = inputEmployee.getId();
-        validator.validateId(id, "id");
-        if (repository.existsById(inputEmployee.getId())) {
-            throw new BadInputException("Employee ID already exists");
-        }
-        final String login = inputEmployee.getLogin();
-        validator.validateId(id, "id");
-        if (repository.existsByLogin(login)) {
-            throw new BadInputException("Employee login not unique");
+        validator.validateId(inputEmployee.getId(), "id");
+        validator.validateLogin(inputEmployee.getLogin(), "login");
+        if (groupCommitter.isEnabled()) {
+            groupCommitter.create(inputEmployee);
+        } else {
+            try {
+                batchRepository.insert(inputEmployee);
+            } catch (DuplicateKeyException e) {
+                throw new BadInputException(EmployeeBatchRepository.isLoginViolation(e) ? "Employee login not unique" : "Employee ID already exists");
+            }
         }
-        final Employee newEmployee = repository.save(inputEmployee);
+        final long generation = dataVersion.changed();
+        snapshotEngine.saved(inputEmployee, generation);
+        nearCache.saved(inputEmployee, null, generation);
+        existenceFilter.saved(inputEmployee, null, generation);
 
-        return newEmployee.getId();
+        return inputEmployee.getId();
     }
 
     public void updateEmployee(String id, UpdateEmployee updateEmployee) throws BadInputException, InvalidFieldException {
@@ -185,18 +350,73 @@ public class EmployeeService {
         }
 
         Employee employeeToUpdate = optionalEmployee.get();
+        final String previousLogin = employeeToUpdate.getLogin();
+
+        if (!previousLogin.equals(updateEmployee.getLogin()) && existenceFilter.mightContainLogin(updateEmployee.getLogin())
+                && existsByLogin(updateEmployee.getLogin())) {
+            throw new BadInputException("Employee login not unique");
+        }
+        employeeToUpdate.setLogin(updateEmployee.getLogin());
+        employeeToUpdate.setName(updateEmployee.getName());
+        employeeToUpdate.setSalary(updateEmployee.getSalary());
+        employeeToUpdate.setStartDate(updateEmployee.getStartDate());
+        repository.save(employeeToUpdate);
+        final long generation = dataVersion.changed();
+        snapshotEngine.saved(employeeToUpdate, generation);
+        nearCache.saved(employeeToUpdate, previousLogin, generation);
+        existenceFilter.saved(employeeToUpdate, previousLogin, generation);
+    }
 
-        if (!employeeToUpdate.getLogin().equals(updateEmployee.getLogin()) && repository.existsByLogin(updateEmployee.getLogin())) {
+    /**
+     * Applies the non null fields of the update with a single statement. A login already taken is reported from the
+     * unique constraint rather than checked beforehand. An id the existence filter has never seen needs no statement.
+     *
+     * @return {@literal false} if no employee has the id.
+     */
+    public boolean patchEmployee(String id, UpdateEmployee patch) throws BadInputException, InvalidFieldException {
+        if (patch.getLogin() != null) {
+            validator.validateLogin(patch.getLogin(), "login");
+        }
+        if (patch.getSalary() != null) {
+            validator.validateSalary(patch.getSalary());
+        }
+        if (!existenceFilter.mightContainId(id)) {
+            return false;
+        }
+        final Optional<Employee> patched;
+        try {
+            patched = batchRepository.patch(id, patch.getLogin(), patch.getName(), patch.getSalary(), patch.getStartDate());
+        } catch (DuplicateKeyException e) {
             throw new BadInputException("Employee login not unique");
         }
-        Employee employee = new Employee(id, updateEmployee.getLogin(), updateEmployee.getName(), updateEmployee.getSalary(), updateEmployee.getStartDate());
-        repository.save(employee);
+        if (!patched.isPresent()) {
+            return false;
+        }
+        final long generation = dataVersion.changed();
+        snapshotEngine.saved(patched.get(), generation);
+        nearCache.updated(patched.get(), generation);
+        existenceFilter.updated(patched.get(), patch.getLogin() != null, generation);
+        return true;
     }
 
+    /**
+     * Deletes the employee with a single statement. An id the existence filter has never seen needs no statement.
+     */
     public void deleteEmployee(String id) throws BadInputException {
-        if (!repository.existsById(id)) {
+        if (!existenceFilter.mightContainId(id) || !batchRepository.delete(id)) {
             throw new BadInputException("No such employee");
         }
-        repository.deleteById(id);
+        final long generation = dataVersion.changed();
+        snapshotEngine.deleted(id, generation);
+        nearCache.deleted(id, generation);
+        existenceFilter.deleted(generation);
+    }
+
+    private Optional<Employee> findById(String id) {
+        return nearCache.findById(id, repository::findById);
+    }
+
+    private boolean existsByLogin(String login) {
+        return nearCache.findIdByLogin(login, repository::findIdByLogin).isPresent();
     }
-}
\ No newline at end of file
+}
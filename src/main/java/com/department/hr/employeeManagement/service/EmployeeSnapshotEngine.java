@@ -0,0 +1,117 @@
+package com.department.hr.employeeManagement.service;
+
+import com.department.hr.employeeManagement.domain.EmployeeSnapshot;
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.repository.EmployeeBatchRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Optional read engine answering salary range listings from an in-memory {@link EmployeeSnapshot}, enabled with
+ * {@code employee.listing.snapshot.enabled}. Single employee writes of {@link EmployeeService} publish a copy of the
+ * snapshot with the change applied; any other write leaves the snapshot behind the {@link EmployeeDataVersion} and
+ * it is rebuilt from the table on the next read.
+ * <p>
+ * Changes are serialized with a {@link ReentrantLock} rather than a monitor since a rebuild reads the whole table,
+ * which would pin the carrier of a virtual thread for the duration of the query.
+ */
+@Slf4j
+@Component
+public class EmployeeSnapshotEngine {
+
+    private final EmployeeBatchRepository batchRepository;
+
+    private final EmployeeDataVersion dataVersion;
+
+    private final boolean enabled;
+
+    private final AtomicReference<EmployeeSnapshot> snapshot = new AtomicReference<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public EmployeeSnapshotEngine(EmployeeBatchRepository batchRepository, EmployeeDataVersion dataVersion,
+                                  @Value("${employee.listing.snapshot.enabled:false}") boolean enabled) {
+        this.batchRepository = batchRepository;
+        this.dataVersion = dataVersion;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public List<Employee> fetchEmployees(Double minSalary, Double maxSalary, long offset, int limit, List<Sort.Order> orders) {
+        return current().find(minSalary, maxSalary, orders, offset, limit);
+    }
+
+    /**
+     * Publishes a snapshot containing the saved employee, provided no other write happened since the current
+     * snapshot was taken.
+     *
+     * @param generation the data version generation following the write.
+     */
+    public void saved(Employee employee, long generation) {
+        lock.lock();
+        try {
+            final EmployeeSnapshot current = snapshot.get();
+            if (enabled && current != null && current.getGeneration() == generation - 1) {
+                snapshot.set(current.withEmployee(employee, generation));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void deleted(String id, long generation) {
+        lock.lock();
+        try {
+            final EmployeeSnapshot current = snapshot.get();
+            if (enabled && current != null && current.getGeneration() == generation - 1) {
+                snapshot.set(current.withoutEmployee(id, generation));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private EmployeeSnapshot current() {
+        final EmployeeSnapshot current = snapshot.get();
+        if (current != null && current.getGeneration() == dataVersion.current()) {
+            return current;
+        }
+        return rebuild();
+    }
+
+    private EmployeeSnapshot rebuild() {
+        lock.lock();
+        try {
+            final long generation = dataVersion.current();
+            final EmployeeSnapshot current = snapshot.get();
+            if (current != null && current.getGeneration() == generation) {
+                return current;
+            }
+            final long start = System.currentTimeMillis();
+            final EmployeeSnapshot rebuilt = batchRepository.withEmployeesOrderedById(employees -> EmployeeSnapshot.of(generation, employees));
+            snapshot.set(rebuilt);
+            log.info("Built employee snapshot of {} rows in {} ms", rebuilt.size(), System.currentTimeMillis() - start);
+            return rebuilt;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
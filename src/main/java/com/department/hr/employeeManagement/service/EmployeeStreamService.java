@@ -0,0 +1,152 @@
+package com.department.hr.employeeManagement.service;
+
+import com.department.hr.employeeManagement.domain.OffsetBasedPageRequest;
+import com.department.hr.employeeManagement.domain.SortedUnpaged;
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.repository.EmployeeRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Salary range listings and exports written to the response while they are read from the database, so that neither
+ * the whole result nor its serialised form is ever held in memory. Offset and limit page the listings the same way
+ * as for {@link EmployeeService#fetchEmployees}, a limit of 0 meaning all employees of the range.
+ */
+@Service
+public class EmployeeStreamService {
+
+    /**
+     * The header {@link CsvEmployeeReader} expects, so that exports can be edited and uploaded again.
+     */
+    static final CSVFormat EXPORT_FORMAT = CSVFormat.DEFAULT.withHeader("id", "login", "name", "salary", "startDate");
+
+    private final EmployeeService service;
+
+    private final EmployeeRepository repository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ObjectWriter writer;
+
+    public EmployeeStreamService(EmployeeService service, EmployeeRepository repository, TransactionTemplate transactionTemplate,
+                                 ObjectMapper objectMapper) {
+        this.service = service;
+        this.repository = repository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * One JSON document per employee and line, as {@code application/x-ndjson}.
+     */
+    public StreamingResponseBody ndjson(Double minSalary, Double maxSalary, Integer offset, Integer limit, String sortFieldsAndDirection) {
+        final Pageable pageable = getPageable(offset, limit, sortFieldsAndDirection);
+        return out -> {
+            try (JsonGenerator generator = writer.getFactory().createGenerator(out)) {
+                forEachEmployee(minSalary, maxSalary, pageable, employee -> {
+                    writer.writeValue(generator, employee);
+                    generator.writeRaw('\n');
+                });
+            }
+        };
+    }
+
+    /**
+     * The same document as the unpaged {@code GET /users}, {@code {"results":[...]}}.
+     */
+    public StreamingResponseBody results(Double minSalary, Double maxSalary, Integer offset, Integer limit, String sortFieldsAndDirection) {
+        final Pageable pageable = getPageable(offset, limit, sortFieldsAndDirection);
+        return out -> {
+            try (JsonGenerator generator = writer.getFactory().createGenerator(out)) {
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("results");
+                forEachEmployee(minSalary, maxSalary, pageable, employee -> writer.writeValue(generator, employee));
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+        };
+    }
+
+    /**
+     * The employees as a csv file in the upload format, optionally gzipped.
+     */
+    public StreamingResponseBody csv(Double minSalary, Double maxSalary, String sortFieldsAndDirection, boolean gzip) {
+        final List<Sort.Order> orders = service.getSortOrderList(sortFieldsAndDirection);
+        return out -> {
+            final OutputStream target = gzip ? new GZIPOutputStream(out, 8192) : out;
+            try (CSVPrinter printer = new CSVPrinter(new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8)), EXPORT_FORMAT)) {
+                forEachEmployee(minSalary, maxSalary, orders, employee -> printer.printRecord(employee.getId(), employee.getLogin(),
+                        employee.getName(), employee.getSalary(), employee.getStartDate()));
+            }
+        };
+    }
+
+    /**
+     * Same as {@link EmployeeService#fetchEmployees}, a positive limit pages the listing from the offset and adds the
+     * id as a tie breaker so pages neither overlap nor skip rows.
+     */
+    private Pageable getPageable(Integer offset, Integer limit, String sortFieldsAndDirection) {
+        final List<Sort.Order> orders = service.getSortOrderList(sortFieldsAndDirection);
+        if (limit > 0) {
+            return new OffsetBasedPageRequest(offset, limit, Sort.by(service.withIdTieBreaker(orders)));
+        }
+        return SortedUnpaged.getInstance(Sort.by(orders));
+    }
+
+    void forEachEmployee(Double minSalary, Double maxSalary, List<Sort.Order> orders, EmployeeWriter employeeWriter) throws IOException {
+        forEachEmployee(minSalary, maxSalary, SortedUnpaged.getInstance(Sort.by(orders)), employeeWriter);
+    }
+
+    /**
+     * Reads the employees in a read only transaction, detaching each one once written so the persistence context
+     * stays empty.
+     */
+    void forEachEmployee(Double minSalary, Double maxSalary, Pageable pageable, EmployeeWriter employeeWriter) throws IOException {
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Employee> employees = repository.streamAllBySalaryGreaterThanEqualAndSalaryLessThan(minSalary, maxSalary, pageable)) {
+                    final Iterator<Employee> iterator = employees.iterator();
+                    while (iterator.hasNext()) {
+                        final Employee employee = iterator.next();
+                        employeeWriter.write(employee);
+                        entityManager.detach(employee);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    interface EmployeeWriter {
+        void write(Employee employee) throws IOException;
+    }
+}
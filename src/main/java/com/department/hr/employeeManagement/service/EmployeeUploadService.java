@@ -0,0 +1,146 @@
+package com.department.hr.employeeManagement.service;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.exceptions.FileFormatException;
+import com.department.hr.employeeManagement.exceptions.InvalidFieldException;
+import com.department.hr.employeeManagement.repository.EmployeeBatchRepository;
+import com.department.hr.employeeManagement.validators.EmployeeValidator;
+import com.department.hr.employeeManagement.vo.ChunkSummary;
+import com.department.hr.employeeManagement.vo.UploadSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Streaming upload of csv files. Records are read lazily from the parser, validated and persisted in chunks of
+ * {@code employee.upload.chunk-size} rows, each chunk being committed in its own transaction. Invalid rows are
+ * rejected individually instead of failing the whole file, as are rows repeating the id or login of an earlier row.
+ * Each chunk records the ids and logins it wrote in the {@code employee_upload_key} table, where later chunks look
+ * them up, so memory does not grow with the file. The keys are removed once the upload ends.
+ */
+@Slf4j
+@Service
+public class EmployeeUploadService {
+
+    private final EmployeeValidator validator;
+
+    private final CsvEmployeeReader reader;
+
+    private final EmployeeBatchRepository batchRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EmployeeDataVersion dataVersion;
+
+    private final int chunkSize;
+
+    public EmployeeUploadService(EmployeeValidator validator, CsvEmployeeReader reader, EmployeeBatchRepository batchRepository,
+                                 TransactionTemplate transactionTemplate, EmployeeDataVersion dataVersion,
+                                 @Value("${employee.upload.chunk-size:1000}") int chunkSize) {
+        this.validator = validator;
+        this.reader = reader;
+        this.batchRepository = batchRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.dataVersion = dataVersion;
+        this.chunkSize = chunkSize;
+    }
+
+    public UploadSummary uploadInChunks(MultipartFile file) throws FileFormatException, IOException {
+        validator.validateInputFile(file);
+        return uploadInChunks(file.getInputStream(), chunkSummary -> {
+        });
+    }
+
+    /**
+     * @param onChunk notified with the summary of every chunk once it has been committed.
+     */
+    public UploadSummary uploadInChunks(InputStream inputStream, Consumer<ChunkSummary> onChunk) throws IOException {
+        final UploadSummary summary = new UploadSummary();
+        final String uploadId = UUID.randomUUID().toString();
+        try (CSVParser parser = reader.open(inputStream)) {
+            final List<CSVRecord> chunk = new ArrayList<>(chunkSize);
+            for (CSVRecord record : parser) {
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    completeChunk(uploadId, summary, chunk, onChunk);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                completeChunk(uploadId, summary, chunk, onChunk);
+            }
+        } finally {
+            batchRepository.forgetUploadKeys(uploadId);
+        }
+        log.info("Upload finished, {} rows accepted and {} rows rejected", summary.getAccepted(), summary.getRejected());
+        return summary;
+    }
+
+    private void completeChunk(String uploadId, UploadSummary summary, List<CSVRecord> chunk, Consumer<ChunkSummary> onChunk) {
+        final ChunkSummary chunkSummary = processChunk(uploadId, summary.getChunks().size() + 1, chunk);
+        summary.add(chunkSummary);
+        onChunk.accept(chunkSummary);
+    }
+
+    private ChunkSummary processChunk(String uploadId, int chunkNumber, List<CSVRecord> records) {
+        final ChunkSummary chunkSummary = new ChunkSummary(chunkNumber, records.get(0).getRecordNumber(), records.get(records.size() - 1).getRecordNumber());
+        final UploadChunkKeys keys = new UploadChunkKeys();
+
+        for (CSVRecord record : records) {
+            try {
+                keys.add(record.getRecordNumber(), reader.toEmployee(record));
+            } catch (InvalidFieldException | IllegalArgumentException e) {
+                chunkSummary.reject(record.getRecordNumber(), e.getMessage());
+            }
+        }
+        keys.keep(batchRepository.findUploadKeys(uploadId, EmployeeBatchRepository.UPLOAD_KEY_ID, keys.ids()),
+                batchRepository.findUploadKeys(uploadId, EmployeeBatchRepository.UPLOAD_KEY_LOGIN, keys.logins()), chunkSummary);
+        persist(uploadId, keys.getEmployees(), keys.getRows(), chunkSummary);
+        return chunkSummary;
+    }
+
+    private void persist(String uploadId, List<Employee> employees, List<Long> rows, ChunkSummary chunkSummary) {
+        if (employees.isEmpty()) {
+            return;
+        }
+        try {
+            write(uploadId, employees);
+            chunkSummary.setAccepted(chunkSummary.getAccepted() + employees.size());
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Batch for chunk {} failed, retrying row by row", chunkSummary.getChunk(), e);
+            for (int i = 0; i < employees.size(); i++) {
+                final List<Employee> single = Collections.singletonList(employees.get(i));
+                try {
+                    write(uploadId, single);
+                    chunkSummary.setAccepted(chunkSummary.getAccepted() + 1);
+                } catch (DataIntegrityViolationException ex) {
+                    chunkSummary.reject(rows.get(i), UploadChunkKeys.rejectionReason(ex));
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the employees together with their keys, so that the keys of a chunk are recorded only if it commits.
+     */
+    private void write(String uploadId, List<Employee> employees) {
+        try {
+            transactionTemplate.execute(status -> {
+                batchRepository.recordUploadKeys(uploadId, employees);
+                return batchRepository.upsertAll(employees);
+            });
+        } finally {
+            dataVersion.changed();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.department.hr.employeeManagement.service;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.vo.CoalescingStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent identical listing queries share a single execution, enabled with
+ * {@code employee.listing.coalescing.enabled}. The first call for a key runs the query and every call for the same
+ * key arriving while it runs waits for and returns its result. Nothing is kept once the query completes. Keys must
+ * carry the data generation so that a call made after a write never joins a query started before it. The result is
+ * returned unmodifiable, and calls which joined get copies of the employees, so no two callers share an instance.
+ */
+@Component
+public class ListingQueryCoalescer {
+
+    private final boolean enabled;
+
+    private final Map<String, CompletableFuture<List<Employee>>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong calls = new AtomicLong();
+
+    private final AtomicLong coalesced = new AtomicLong();
+
+    public ListingQueryCoalescer(@Value("${employee.listing.coalescing.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @param key the normalized query qualified with the data generation it reads.
+     */
+    public List<Employee> get(String key, Supplier<List<Employee>> query) {
+        if (!enabled) {
+            return Collections.unmodifiableList(query.get());
+        }
+        calls.incrementAndGet();
+        final CompletableFuture<List<Employee>> execution = new CompletableFuture<>();
+        final CompletableFuture<List<Employee>> running = inFlight.putIfAbsent(key, execution);
+        if (running != null) {
+            coalesced.incrementAndGet();
+            try {
+                return copyOf(running.join());
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        try {
+            final List<Employee> employees = Collections.unmodifiableList(query.get());
+            execution.complete(employees);
+            return employees;
+        } catch (RuntimeException | Error e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, execution);
+        }
+    }
+
+    private static List<Employee> copyOf(List<Employee> employees) {
+        final List<Employee> copies = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            copies.add(employee.copy());
+        }
+        return Collections.unmodifiableList(copies);
+    }
+
+    public CoalescingStats getStats() {
+        final CoalescingStats stats = new CoalescingStats();
+        stats.setEnabled(enabled);
+        stats.setCoalesced(coalesced.get());
+        stats.setCalls(calls.get());
+        stats.setExecutions(stats.getCalls() - stats.getCoalesced());
+        stats.setInFlight(inFlight.size());
+        return stats;
+    }
+}
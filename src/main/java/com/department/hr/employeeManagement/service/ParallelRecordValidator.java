@@ -0,0 +1,104 @@
+package com.department.hr.employeeManagement.service;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.exceptions.InvalidFieldException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Validates csv records and maps them to {@link Employee}s on a bounded pool of
+ * {@code employee.upload.validation-threads} threads. Records are split into batches of
+ * {@code employee.upload.validation-batch-size}, the results are joined back in file order and the error of the
+ * earliest invalid row is the one reported.
+ */
+@Slf4j
+@Component
+public class ParallelRecordValidator {
+
+    private final CsvEmployeeReader reader;
+
+    private final int batchSize;
+
+    private final ExecutorService executor;
+
+    public ParallelRecordValidator(CsvEmployeeReader reader,
+                                   @Value("${employee.upload.validation-threads:0}") int threads,
+                                   @Value("${employee.upload.validation-batch-size:1000}") int batchSize) {
+        this.reader = reader;
+        this.batchSize = batchSize;
+        final int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = Executors.newFixedThreadPool(poolSize, new CustomizableThreadFactory("csv-validation-"));
+        log.info("Validating uploads on {} threads in batches of {} records", poolSize, batchSize);
+    }
+
+    public List<Employee> toEmployees(List<CSVRecord> records) throws InvalidFieldException {
+        if (records.size() <= batchSize) {
+            return validateBatch(records).get();
+        }
+        final List<Future<BatchResult>> futures = new ArrayList<>();
+        for (int from = 0; from < records.size(); from += batchSize) {
+            final List<CSVRecord> batch = records.subList(from, Math.min(from + batchSize, records.size()));
+            futures.add(executor.submit(() -> validateBatch(batch)));
+        }
+
+        final List<Employee> employees = new ArrayList<>(records.size());
+        try {
+            for (Future<BatchResult> future : futures) {
+                employees.addAll(future.get().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while validating the upload", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Validation of the upload failed", e.getCause());
+        } finally {
+            futures.forEach(f -> f.cancel(true));
+        }
+        return employees;
+    }
+
+    private BatchResult validateBatch(List<CSVRecord> batch) {
+        final List<Employee> employees = new ArrayList<>(batch.size());
+        for (CSVRecord record : batch) {
+            try {
+                employees.add(reader.toEmployee(record));
+            } catch (InvalidFieldException e) {
+                return new BatchResult(employees, e);
+            }
+        }
+        return new BatchResult(employees, null);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static final class BatchResult {
+        private final List<Employee> employees;
+        private final InvalidFieldException error;
+
+        private BatchResult(List<Employee> employees, InvalidFieldException error) {
+            this.employees = employees;
+            this.error = error;
+        }
+
+        private List<Employee> get() throws InvalidFieldException {
+            if (error != null) {
+                throw error;
+            }
+            return employees;
+        }
+    }
+}
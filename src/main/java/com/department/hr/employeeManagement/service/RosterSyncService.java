@@ -0,0 +1,251 @@
+package com.department.hr.employeeManagement.service;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.exceptions.DuplicateDataException;
+import com.department.hr.employeeManagement.exceptions.FileFormatException;
+import com.department.hr.employeeManagement.exceptions.InvalidFieldException;
+import com.department.hr.employeeManagement.repository.EmployeeBatchRepository;
+import com.department.hr.employeeManagement.validators.EmployeeValidator;
+import com.department.hr.employeeManagement.vo.SyncSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Synchronises the employee table with a full roster file. The file is validated and sorted by id on disk, then
+ * merge-joined with the table read in id order so that only the differences are written: employees missing from the
+ * table are inserted, changed ones updated and those missing from the file deleted. Nothing is written unless the
+ * whole file is valid, and the table is synchronised in a single transaction so that a failure leaves it untouched.
+ * <p>
+ * The merge runs twice. The first pass deletes the employees missing from the file and releases the logins that
+ * move to another employee, the second one writes the updates and inserts, so that a login can move between
+ * employees whatever their order in the file.
+ */
+@Slf4j
+@Service
+public class RosterSyncService {
+
+    private final EmployeeValidator validator;
+
+    private final CsvEmployeeReader reader;
+
+    private final EmployeeBatchRepository batchRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EmployeeDataVersion dataVersion;
+
+    private final int runSize;
+
+    private final int chunkSize;
+
+    public RosterSyncService(EmployeeValidator validator, CsvEmployeeReader reader, EmployeeBatchRepository batchRepository,
+                             TransactionTemplate transactionTemplate, EmployeeDataVersion dataVersion,
+                             @Value("${employee.upload.sync.run-size:100000}") int runSize,
+                             @Value("${employee.upload.chunk-size:1000}") int chunkSize) {
+        this.validator = validator;
+        this.reader = reader;
+        this.batchRepository = batchRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.dataVersion = dataVersion;
+        this.runSize = runSize;
+        this.chunkSize = chunkSize;
+    }
+
+    public SyncSummary sync(MultipartFile file) throws FileFormatException, IOException, InvalidFieldException, DuplicateDataException {
+        validator.validateInputFile(file);
+        try (EmployeeIdSorter sorter = new EmployeeIdSorter(runSize)) {
+            long employees = 0;
+            try (CSVParser parser = reader.open(file)) {
+                for (CSVRecord record : parser) {
+                    sorter.add(reader.toEmployee(record));
+                    employees++;
+                }
+            }
+            if (employees == 0) {
+                throw new FileFormatException("Roster file has no employees, refusing to delete all employees");
+            }
+            final Path sorted = sorter.finish();
+            final SyncSummary summary;
+            try {
+                summary = transactionTemplate.execute(status -> {
+                    final SyncSummary result = new SyncSummary();
+                    merge(sorted, new ReleasePass(result));
+                    merge(sorted, new WritePass(result));
+                    return result;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } catch (DataIntegrityViolationException e) {
+                throw new DuplicateDataException("Duplicate login ids detected, roster was not synchronised");
+            } finally {
+                dataVersion.changed();
+            }
+            log.info("Sync finished, {} inserted, {} updated, {} deleted and {} unchanged", summary.getInserted(),
+                    summary.getUpdated(), summary.getDeleted(), summary.getUnchanged());
+            return summary;
+        }
+    }
+
+    private void merge(Path sorted, Pass pass) {
+        try (CSVParser sortedParser = EmployeeIdSorter.open(sorted)) {
+            final Iterator<Employee> fromFile = EmployeeIdSorter.employees(sortedParser);
+            batchRepository.withEmployeesOrderedById(fromTable -> {
+                merge(fromFile, fromTable, pass);
+                return null;
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void merge(Iterator<Employee> fromFile, Iterator<Employee> fromTable, Pass pass) {
+        Employee fileEmployee = fromFile.hasNext() ? fromFile.next() : null;
+        Employee tableEmployee = fromTable.hasNext() ? fromTable.next() : null;
+
+        while (fileEmployee != null || tableEmployee != null) {
+            final int comparison = fileEmployee == null ? 1 : tableEmployee == null ? -1 : fileEmployee.getId().compareTo(tableEmployee.getId());
+            if (comparison < 0) {
+                pass.onlyInFile(fileEmployee);
+                fileEmployee = fromFile.hasNext() ? fromFile.next() : null;
+            } else if (comparison > 0) {
+                pass.onlyInTable(tableEmployee);
+                tableEmployee = fromTable.hasNext() ? fromTable.next() : null;
+            } else {
+                pass.inBoth(fileEmployee, tableEmployee);
+                fileEmployee = fromFile.hasNext() ? fromFile.next() : null;
+                tableEmployee = fromTable.hasNext() ? fromTable.next() : null;
+            }
+            if (pass.pending() >= chunkSize) {
+                pass.flush();
+            }
+        }
+        pass.flush();
+    }
+
+    private static boolean isUnchanged(Employee fromFile, Employee fromTable) {
+        return Objects.equals(fromFile.getLogin(), fromTable.getLogin())
+                && Objects.equals(fromFile.getName(), fromTable.getName())
+                && Objects.equals(fromFile.getSalary(), fromTable.getSalary())
+                && Objects.equals(fromFile.getStartDate(), fromTable.getStartDate());
+    }
+
+    private interface Pass {
+        void onlyInFile(Employee fromFile);
+
+        void onlyInTable(Employee fromTable);
+
+        void inBoth(Employee fromFile, Employee fromTable);
+
+        int pending();
+
+        void flush();
+    }
+
+    /**
+     * Deletes the employees missing from the file and releases the logins that the file gives to another employee.
+     */
+    private final class ReleasePass implements Pass {
+        private final SyncSummary summary;
+        private final List<String> deletes = new ArrayList<>();
+        private final List<String> releases = new ArrayList<>();
+
+        private ReleasePass(SyncSummary summary) {
+            this.summary = summary;
+        }
+
+        @Override
+        public void onlyInFile(Employee fromFile) {
+        }
+
+        @Override
+        public void onlyInTable(Employee fromTable) {
+            deletes.add(fromTable.getId());
+        }
+
+        @Override
+        public void inBoth(Employee fromFile, Employee fromTable) {
+            if (!Objects.equals(fromFile.getLogin(), fromTable.getLogin())) {
+                releases.add(fromTable.getId());
+            }
+        }
+
+        @Override
+        public int pending() {
+            return deletes.size() + releases.size();
+        }
+
+        @Override
+        public void flush() {
+            if (!deletes.isEmpty()) {
+                batchRepository.deleteAllById(deletes);
+                summary.setDeleted(summary.getDeleted() + deletes.size());
+            }
+            if (!releases.isEmpty()) {
+                batchRepository.releaseLogins(releases);
+            }
+            deletes.clear();
+            releases.clear();
+        }
+    }
+
+    /**
+     * Writes the updates and inserts once every moving login has been released.
+     */
+    private final class WritePass implements Pass {
+        private final SyncSummary summary;
+        private final List<Employee> inserts = new ArrayList<>();
+        private final List<Employee> updates = new ArrayList<>();
+
+        private WritePass(SyncSummary summary) {
+            this.summary = summary;
+        }
+
+        @Override
+        public void onlyInFile(Employee fromFile) {
+            inserts.add(fromFile);
+        }
+
+        @Override
+        public void onlyInTable(Employee fromTable) {
+        }
+
+        @Override
+        public void inBoth(Employee fromFile, Employee fromTable) {
+            if (isUnchanged(fromFile, fromTable)) {
+                summary.setUnchanged(summary.getUnchanged() + 1);
+            } else {
+                updates.add(fromFile);
+            }
+        }
+
+        @Override
+        public int pending() {
+            return inserts.size() + updates.size();
+        }
+
+        @Override
+        public void flush() {
+            if (!updates.isEmpty()) {
+                batchRepository.updateAll(updates);
+                summary.setUpdated(summary.getUpdated() + updates.size());
+            }
+            if (!inserts.isEmpty()) {
+                batchRepository.insertAll(inserts);
+                summary.setInserted(summary.getInserted() + inserts.size());
+            }
+            inserts.clear();
+            updates.clear();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.department.hr.employeeManagement.service;
+
+import com.department.hr.employeeManagement.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Number of employees per salary range, counted once and then served from memory until the table changes. Only the
+ * {@code employee.listing.count-cache-size} most recently used ranges are kept.
+ */
+@Component
+public class SalaryRangeCountCache {
+
+    private final EmployeeRepository repository;
+
+    private final EmployeeDataVersion dataVersion;
+
+    private final Map<String, long[]> counts;
+
+    public SalaryRangeCountCache(EmployeeRepository repository, EmployeeDataVersion dataVersion,
+                                 @Value("${employee.listing.count-cache-size:64}") int maxEntries) {
+        this.repository = repository;
+        this.dataVersion = dataVersion;
+        this.counts = new LinkedHashMap<String, long[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, long[]> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public long count(Double minSalary, Double maxSalary) {
+        final String key = minSalary + ":" + maxSalary;
+        final long generation = dataVersion.current();
+        synchronized (counts) {
+            final long[] cached = counts.get(key);
+            if (cached != null && cached[0] == generation) {
+                return cached[1];
+            }
+        }
+        final long count = repository.countBySalaryGreaterThanEqualAndSalaryLessThan(minSalary, maxSalary);
+        synchronized (counts) {
+            counts.put(key, new long[]{generation, count});
+        }
+        return count;
+    }
+}
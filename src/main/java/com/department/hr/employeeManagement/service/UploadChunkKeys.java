@@ -0,0 +1,92 @@
+package com.department.hr.employeeManagement.service;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.repository.EmployeeBatchRepository;
+import com.department.hr.employeeManagement.vo.ChunkSummary;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The valid rows of one chunk of a streaming upload, checked for an id or login repeating an earlier row of the same
+ * upload. Repeats within the chunk are found here. Repeats of an earlier chunk are found among the keys the earlier
+ * chunks recorded in the database, which the caller looks up for {@link #ids()} and {@link #logins()}. Memory is
+ * therefore bounded by the chunk size rather than by the size of the upload.
+ */
+public class UploadChunkKeys {
+
+    private final List<Employee> candidates = new ArrayList<>();
+
+    private final List<Long> candidateRows = new ArrayList<>();
+
+    private final List<Employee> employees = new ArrayList<>();
+
+    private final List<Long> rows = new ArrayList<>();
+
+    public void add(long row, Employee employee) {
+        candidates.add(employee);
+        candidateRows.add(row);
+    }
+
+    public Set<String> ids() {
+        final Set<String> ids = new LinkedHashSet<>();
+        candidates.forEach(employee -> ids.add(employee.getId()));
+        return ids;
+    }
+
+    public Set<String> logins() {
+        final Set<String> logins = new LinkedHashSet<>();
+        candidates.forEach(employee -> logins.add(employee.getLogin()));
+        return logins;
+    }
+
+    /**
+     * Keeps the rows whose id and login were neither recorded by an earlier chunk nor kept earlier in this chunk, and
+     * rejects the others.
+     *
+     * @param earlierIds    those of {@link #ids()} recorded by earlier chunks of the upload.
+     * @param earlierLogins those of {@link #logins()} recorded by earlier chunks of the upload.
+     */
+    public void keep(Set<String> earlierIds, Set<String> earlierLogins, ChunkSummary chunkSummary) {
+        final Set<String> ids = new HashSet<>(earlierIds);
+        final Set<String> logins = new HashSet<>(earlierLogins);
+        for (int i = 0; i < candidates.size(); i++) {
+            final Employee employee = candidates.get(i);
+            if (ids.contains(employee.getId())) {
+                chunkSummary.reject(candidateRows.get(i), "Duplicate id " + employee.getId());
+            } else if (logins.contains(employee.getLogin())) {
+                chunkSummary.reject(candidateRows.get(i), "Duplicate login id " + employee.getLogin());
+            } else {
+                ids.add(employee.getId());
+                logins.add(employee.getLogin());
+                employees.add(employee);
+                rows.add(candidateRows.get(i));
+            }
+        }
+    }
+
+    /**
+     * @return the reason to report for a kept row the database refused, naming the constraint it violated.
+     */
+    public static String rejectionReason(DataIntegrityViolationException e) {
+        return EmployeeBatchRepository.isLoginViolation(e) ? "Login id is not unique" : e.getMostSpecificCause().getMessage();
+    }
+
+    /**
+     * @return the employees kept by {@link #keep}, in row order.
+     */
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    /**
+     * @return the rows of the employees kept by {@link #keep}.
+     */
+    public List<Long> getRows() {
+        return rows;
+    }
+}
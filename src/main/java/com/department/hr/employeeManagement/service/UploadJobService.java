@@ -0,0 +1,139 @@
+package com.department.hr.employeeManagement.service;
+
+import com.department.hr.employeeManagement.domain.UploadJob;
+import com.department.hr.employeeManagement.exceptions.BadInputException;
+import com.department.hr.employeeManagement.exceptions.FileFormatException;
+import com.department.hr.employeeManagement.validators.EmployeeValidator;
+import com.department.hr.employeeManagement.vo.UploadJobStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Runs streaming uploads in the background so that the request thread is released as soon as the file is received.
+ * At most {@code employee.upload.jobs.max-concurrent} jobs run at a time and at most
+ * {@code employee.upload.jobs.max-queued} further jobs wait in the queue; beyond that submissions are rejected with a
+ * {@link RejectedExecutionException} before anything is written to disk. The uploaded file is copied to a temporary
+ * file since the multipart file does not outlive the request. With
+ * {@code employee.threads.virtual} jobs run on virtual threads, still at most {@code max-concurrent} at a time.
+ */
+@Slf4j
+@Service
+public class UploadJobService {
+
+    static final String TOO_MANY_JOBS = "Too many upload jobs waiting, please retry later";
+
+    private final EmployeeValidator validator;
+
+    private final EmployeeUploadService uploadService;
+
+    private final ThreadPoolExecutor executor;
+
+    private final int retainedJobs;
+
+    private final Map<String, UploadJob> jobs = new ConcurrentHashMap<>();
+
+    public UploadJobService(EmployeeValidator validator, EmployeeUploadService uploadService,
+                            @Value("${employee.upload.jobs.max-concurrent:2}") int maxConcurrent,
+                            @Value("${employee.upload.jobs.max-queued:10}") int maxQueued,
+                            @Value("${employee.upload.jobs.retained:100}") int retainedJobs,
+                            @Value("${employee.threads.virtual:false}") boolean virtualThreads) {
+        this.validator = validator;
+        this.uploadService = uploadService;
+        this.retainedJobs = retainedJobs;
+        this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(maxQueued), virtualThreads ? Thread.ofVirtual().name("upload-job-", 1).factory()
+                : new CustomizableThreadFactory("upload-job-"));
+    }
+
+    /**
+     * @throws RejectedExecutionException if the queue of waiting jobs is full.
+     */
+    public UploadJobStatus submit(MultipartFile file) throws FileFormatException, IOException {
+        validator.validateInputFile(file);
+        if (executor.getQueue().remainingCapacity() == 0) {
+            throw new RejectedExecutionException(TOO_MANY_JOBS);
+        }
+        final Path path = Files.createTempFile("employee-upload-", ".csv");
+        file.transferTo(path);
+
+        final UploadJob job = new UploadJob(UUID.randomUUID().toString(), file.getOriginalFilename());
+        evictFinishedJobs();
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, path));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            Files.deleteIfExists(path);
+            throw new RejectedExecutionException(TOO_MANY_JOBS, e);
+        }
+        log.info("Upload job {} queued, {} jobs waiting", job.getId(), executor.getQueue().size());
+        return job.toStatus();
+    }
+
+    public UploadJobStatus getStatus(String jobId) throws BadInputException {
+        final UploadJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new BadInputException("No such upload job");
+        }
+        return job.toStatus();
+    }
+
+    public List<UploadJobStatus> getStatuses() {
+        return jobs.values().stream()
+                .map(UploadJob::toStatus)
+                .sorted((a, b) -> a.getSubmittedAt().compareTo(b.getSubmittedAt()))
+                .collect(Collectors.toList());
+    }
+
+    private void run(UploadJob job, Path path) {
+        job.start();
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            uploadService.uploadInChunks(inputStream, job::chunkProcessed);
+            job.complete();
+        } catch (Exception e) {
+            log.error("Upload job {} failed", job.getId(), e);
+            job.fail(e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("Could not delete {}", path, e);
+            }
+        }
+    }
+
+    private void evictFinishedJobs() {
+        if (jobs.size() < retainedJobs) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(UploadJob::isFinished)
+                .map(UploadJob::toStatus)
+                .sorted((a, b) -> a.getSubmittedAt().compareTo(b.getSubmittedAt()))
+                .limit(jobs.size() - retainedJobs + 1L)
+                .forEach(status -> jobs.remove(status.getJobId()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
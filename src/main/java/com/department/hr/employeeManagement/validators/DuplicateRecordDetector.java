@@ -0,0 +1,42 @@
+package com.department.hr.employeeManagement.validators;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.vo.DuplicateReport;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Detects duplicate ids and logins in a single pass over the uploaded employees.
+ */
+@Component
+public class DuplicateRecordDetector {
+
+    public DuplicateReport detect(List<Employee> employees) {
+        return detect(employees, position -> position + 1L);
+    }
+
+    /**
+     * @param employees the employees in file order.
+     * @param rowNumber maps a position in {@code employees} to the row number reported for it. Rows are data rows
+     *                  counted from 1 after the header, as {@code CSVRecord#getRecordNumber()} and every upload mode report them.
+     */
+    public DuplicateReport detect(List<Employee> employees, IntToLongFunction rowNumber) {
+        final StringPositionIndex ids = new StringPositionIndex(employees.size(), i -> employees.get(i).getId());
+        final StringPositionIndex logins = new StringPositionIndex(employees.size(), i -> employees.get(i).getLogin());
+        final DuplicateReport report = new DuplicateReport();
+
+        for (int i = 0; i < employees.size(); i++) {
+            final int firstId = ids.putIfAbsent(i);
+            if (firstId >= 0) {
+                report.addDuplicateId(employees.get(i).getId(), rowNumber.applyAsLong(firstId), rowNumber.applyAsLong(i));
+            }
+            final int firstLogin = logins.putIfAbsent(i);
+            if (firstLogin >= 0) {
+                report.addDuplicateLogin(employees.get(i).getLogin(), rowNumber.applyAsLong(firstLogin), rowNumber.applyAsLong(i));
+            }
+        }
+        return report;
+    }
+}
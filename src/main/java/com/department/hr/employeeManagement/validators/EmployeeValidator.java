@@ -8,6 +8,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -21,11 +22,15 @@ public class EmployeeValidator {
     public static final String CONTENT_TYPE_TEXT_CSV = "text/csv";
     public static final DateTimeFormatter validPattern = DateTimeFormatter.ofPattern("[yyyy-MM-dd][dd-MMM-yy]");
     public static final DateTimeFormatter DD_MMMM_YY = DateTimeFormatter.ofPattern("dd-MMM-yy");
-    public static final List<String> FIELDS = Arrays.stream(Employee.class.getDeclaredFields()).map(Field::getName).collect(Collectors.toList());
+    public static final List<String> FIELDS = Arrays.stream(Employee.class.getDeclaredFields()).filter(f -> !Modifier.isTransient(f.getModifiers())).map(Field::getName).collect(Collectors.toList());
 
 
     public void validateInputFile(MultipartFile file) throws FileFormatException {
-        if (!CONTENT_TYPE_TEXT_CSV.equalsIgnoreCase(file.getContentType())) {
+        validateContentType(file.getContentType());
+    }
+
+    public void validateContentType(String contentType) throws FileFormatException {
+        if (!CONTENT_TYPE_TEXT_CSV.equalsIgnoreCase(contentType)) {
             throw new FileFormatException("The input file provided is not of a valid format. Please upload a csv file only");
         }
     }
@@ -91,6 +96,12 @@ public class EmployeeValidator {
         }
     }
 
+    public void validateField(String field) throws BadInputException {
+        if (!FIELDS.contains(field)) {
+            throw new BadInputException("Can select one of the following fields " + FIELDS);
+        }
+    }
+
     public void validateSalary(Double salary) throws InvalidFieldException {
         if (salary < 0.0) {
             throw new InvalidFieldException(String.format("Invalid salary %s, salary should be greater than 0", salary));
@@ -0,0 +1,89 @@
+package com.department.hr.employeeManagement.validators;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+/**
+ * Open addressing hash table remembering the first position at which a string key was seen. Only the key hash and
+ * the position are stored, in primitive arrays; the keys themselves are looked up through {@code keyAt} whenever two
+ * hashes collide, so memory stays at two ints per slot regardless of key length.
+ */
+final class StringPositionIndex {
+
+    private static final int EMPTY = -1;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private final IntFunction<String> keyAt;
+    private int[] positions;
+    private int[] hashes;
+    private int mask;
+    private int threshold;
+    private int size;
+
+    StringPositionIndex(int expectedSize, IntFunction<String> keyAt) {
+        this.keyAt = keyAt;
+        allocate(tableSizeFor((int) (Math.max(expectedSize, 2) / LOAD_FACTOR)));
+    }
+
+    /**
+     * Records the key at {@code position} if it has not been seen before.
+     *
+     * @return the position of the first occurrence of the same key, or {@literal -1} if the key is new.
+     */
+    int putIfAbsent(int position) {
+        final String key = keyAt.apply(position);
+        final int hash = hash(key);
+        int slot = hash & mask;
+        while (positions[slot] != EMPTY) {
+            if (hashes[slot] == hash && Objects.equals(key, keyAt.apply(positions[slot]))) {
+                return positions[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        positions[slot] = position;
+        hashes[slot] = hash;
+        if (++size > threshold) {
+            resize();
+        }
+        return EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void resize() {
+        final int[] oldPositions = positions;
+        final int[] oldHashes = hashes;
+        allocate(oldPositions.length << 1);
+        for (int i = 0; i < oldPositions.length; i++) {
+            if (oldPositions[i] != EMPTY) {
+                int slot = oldHashes[i] & mask;
+                while (positions[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                positions[slot] = oldPositions[i];
+                hashes[slot] = oldHashes[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        positions = new int[capacity];
+        hashes = new int[capacity];
+        Arrays.fill(positions, EMPTY);
+        mask = capacity - 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int hash(String key) {
+        final int h = Objects.hashCode(key) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(int n) {
+        final int highest = Integer.highestOneBit(Math.max(n, 4));
+        return highest == n ? n : highest << 1;
+    }
+}
@@ -0,0 +1,17 @@
+package com.department.hr.employeeManagement.vo;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BulkLoadReport {
+    private long staged;
+    private long inserted;
+    private long updated;
+    private long invalid;
+    private long clashCount;
+    private List<String> invalidRows = new ArrayList<>();
+    private List<Clash> clashes = new ArrayList<>();
+}
@@ -0,0 +1,22 @@
+package com.department.hr.employeeManagement.vo;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BulkMutationSummary {
+    private long succeeded;
+    private long failed;
+    private List<OperationResult> results = new ArrayList<>();
+
+    public void add(OperationResult result) {
+        results.add(result);
+        if (result.getError() == null) {
+            succeeded++;
+        } else {
+            failed++;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.department.hr.employeeManagement.vo;
+
+import lombok.Data;
+
+@Data
+public class CacheStats {
+    private boolean enabled;
+    private long size;
+    private long maxSize;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private long invalidations;
+    private double hitRatio;
+}
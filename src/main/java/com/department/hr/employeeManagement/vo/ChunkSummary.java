@@ -0,0 +1,47 @@
+package com.department.hr.employeeManagement.vo;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class ChunkSummary {
+    public static final int MAX_ERRORS = 100;
+
+    private int chunk;
+    private long firstRow;
+    private long lastRow;
+    private int accepted;
+    private int rejected;
+    private List<String> errors = new ArrayList<>();
+    private int omittedErrors;
+
+    public ChunkSummary(int chunk, long firstRow, long lastRow) {
+        this.chunk = chunk;
+        this.firstRow = firstRow;
+        this.lastRow = lastRow;
+    }
+
+    public void reject(long row, String reason) {
+        rejected++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(String.format("row %d: %s", row, reason));
+        } else {
+            omittedErrors++;
+        }
+    }
+
+    /**
+     * Keeps the first {@code count} errors only, counting the others as omitted.
+     */
+    public void keepErrors(int count) {
+        final int keep = Math.max(0, count);
+        if (errors.size() > keep) {
+            omittedErrors += errors.size() - keep;
+            errors = new ArrayList<>(errors.subList(0, keep));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.department.hr.employeeManagement.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Clash {
+    private long row;
+    private String id;
+    private String login;
+    private String type;
+}
@@ -0,0 +1,12 @@
+package com.department.hr.employeeManagement.vo;
+
+import lombok.Data;
+
+@Data
+public class CoalescingStats {
+    private boolean enabled;
+    private long calls;
+    private long executions;
+    private long coalesced;
+    private long inFlight;
+}
@@ -0,0 +1,55 @@
+package com.department.hr.employeeManagement.vo;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Duplicated ids and logins, each mapped to the row of its first occurrence followed by the rows of every duplicate.
+ */
+@Data
+public class DuplicateReport {
+    private Map<String, List<Long>> duplicateIds = new LinkedHashMap<>();
+    private Map<String, List<Long>> duplicateLogins = new LinkedHashMap<>();
+
+    public void addDuplicateId(String id, long firstRow, long duplicateRow) {
+        add(duplicateIds, id, firstRow, duplicateRow);
+    }
+
+    public void addDuplicateLogin(String login, long firstRow, long duplicateRow) {
+        add(duplicateLogins, login, firstRow, duplicateRow);
+    }
+
+    public boolean hasDuplicates() {
+        return !duplicateIds.isEmpty() || !duplicateLogins.isEmpty();
+    }
+
+    public String describe() {
+        final List<String> messages = new ArrayList<>();
+        if (!duplicateIds.isEmpty()) {
+            messages.add("Duplicate ids detected - " + describe(duplicateIds));
+        }
+        if (!duplicateLogins.isEmpty()) {
+            messages.add("Duplicate login ids detected - " + describe(duplicateLogins));
+        }
+        return String.join("; ", messages);
+    }
+
+    private static String describe(Map<String, List<Long>> duplicates) {
+        return duplicates.entrySet().stream()
+                .map(e -> e.getKey() + " (rows " + e.getValue().stream().map(String::valueOf).collect(Collectors.joining(", ")) + ")")
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private static void add(Map<String, List<Long>> duplicates, String key, long firstRow, long duplicateRow) {
+        duplicates.computeIfAbsent(key, k -> {
+            final List<Long> rows = new ArrayList<>();
+            rows.add(firstRow);
+            return rows;
+        }).add(duplicateRow);
+    }
+}
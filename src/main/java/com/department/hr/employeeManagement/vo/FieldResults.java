@@ -0,0 +1,18 @@
+package com.department.hr.employeeManagement.vo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link Results} holding only the requested fields of each employee.
+ */
+@Data
+public class FieldResults {
+    private List<Map<String, Object>> results;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long total;
+}
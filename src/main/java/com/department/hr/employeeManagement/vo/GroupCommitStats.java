@@ -0,0 +1,14 @@
+package com.department.hr.employeeManagement.vo;
+
+import lombok.Data;
+
+@Data
+public class GroupCommitStats {
+    private boolean enabled;
+    private long batches;
+    private long operations;
+    private long maxBatchSize;
+    private double averageBatchSize;
+    private double averageCommitMillis;
+    private double maxCommitMillis;
+}
@@ -0,0 +1,13 @@
+package com.department.hr.employeeManagement.vo;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class LookupResults {
+    private List<Employee> found = new ArrayList<>();
+    private List<String> missing = new ArrayList<>();
+}
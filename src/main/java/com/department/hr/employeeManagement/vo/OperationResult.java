@@ -0,0 +1,19 @@
+package com.department.hr.employeeManagement.vo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OperationResult {
+    private long index;
+    private String op;
+    private String id;
+    private String status;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String error;
+}
@@ -1,6 +1,7 @@
 package com.department.hr.employeeManagement.vo;
 
 import com.department.hr.employeeManagement.entity.Employee;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 
 import java.util.List;
@@ -8,4 +9,10 @@ import java.util.List;
 @Data
 public class Results {
     private List<Employee> results;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String next;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long total;
 }
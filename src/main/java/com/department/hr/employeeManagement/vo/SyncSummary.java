@@ -0,0 +1,11 @@
+package com.department.hr.employeeManagement.vo;
+
+import lombok.Data;
+
+@Data
+public class SyncSummary {
+    private long inserted;
+    private long updated;
+    private long deleted;
+    private long unchanged;
+}
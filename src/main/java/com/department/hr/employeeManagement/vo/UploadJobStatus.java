@@ -0,0 +1,22 @@
+package com.department.hr.employeeManagement.vo;
+
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+public class UploadJobStatus {
+    private String jobId;
+    private String fileName;
+    private String state;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private long rowsProcessed;
+    private long accepted;
+    private long rejected;
+    private double rowsPerSecond;
+    private List<String> errors;
+    private String failure;
+}
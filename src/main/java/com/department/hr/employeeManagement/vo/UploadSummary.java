@@ -0,0 +1,28 @@
+package com.department.hr.employeeManagement.vo;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class UploadSummary {
+    public static final int MAX_ERRORS = 1000;
+
+    private long accepted;
+    private long rejected;
+    private long omittedErrors;
+    private List<ChunkSummary> chunks = new ArrayList<>();
+
+    /**
+     * Adds the chunk, dropping its errors beyond the {@link #MAX_ERRORS} listed for the whole upload. Dropped errors
+     * are still counted as rejected rows and as omitted errors.
+     */
+    public void add(ChunkSummary chunkSummary) {
+        chunkSummary.keepErrors((int) (MAX_ERRORS - (rejected - omittedErrors)));
+        chunks.add(chunkSummary);
+        accepted += chunkSummary.getAccepted();
+        rejected += chunkSummary.getRejected();
+        omittedErrors += chunkSummary.getOmittedErrors();
+    }
+}
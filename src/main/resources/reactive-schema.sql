@@ -0,0 +1,20 @@
+CREATE TABLE IF NOT EXISTS employee (
+    id VARCHAR(255) NOT NULL PRIMARY KEY,
+    login VARCHAR(255) NOT NULL,
+    name VARCHAR(255),
+    salary DOUBLE,
+    start_date DATE,
+    CONSTRAINT uk_employee_login UNIQUE (login)
+);
+CREATE INDEX IF NOT EXISTS idx_employee_salary_id ON employee (salary, id);
+CREATE INDEX IF NOT EXISTS idx_employee_start_date_id ON employee (start_date, id);
+CREATE INDEX IF NOT EXISTS idx_employee_name_id ON employee (name, id);
+CREATE INDEX IF NOT EXISTS idx_employee_salary_start_date ON employee (salary ASC, start_date DESC, id);
+CREATE INDEX IF NOT EXISTS idx_employee_start_date_salary ON employee (start_date DESC, salary ASC, id);
+-- Ids and logins written by a streaming upload that is still running, one row per key.
+CREATE TABLE IF NOT EXISTS employee_upload_key (
+    upload_id VARCHAR(36) NOT NULL,
+    kind CHAR(1) NOT NULL,
+    key_value VARCHAR(255) NOT NULL,
+    PRIMARY KEY (upload_id, kind, key_value)
+);
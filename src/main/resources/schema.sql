@@ -0,0 +1,23 @@
+-- Tables not mapped to an entity. The employee table itself is created by Hibernate.
+
+-- Ids and logins written by a streaming upload that is still running, one row per key.
+CREATE TABLE IF NOT EXISTS employee_upload_key (
+    upload_id VARCHAR(36) NOT NULL,
+    kind CHAR(1) NOT NULL,
+    key_value VARCHAR(255) NOT NULL,
+    PRIMARY KEY (upload_id, kind, key_value)
+);
+
+-- Rows of a bulk load, checked for clashes before they are moved into the employee table.
+CREATE TABLE IF NOT EXISTS employee_staging (
+    load_id VARCHAR(36) NOT NULL,
+    row_no BIGINT NOT NULL,
+    id VARCHAR(255),
+    login VARCHAR(255),
+    name VARCHAR(255),
+    salary DOUBLE,
+    start_date DATE,
+    clash VARCHAR(20)
+);
+CREATE INDEX IF NOT EXISTS employee_staging_id ON employee_staging (load_id, id);
+CREATE INDEX IF NOT EXISTS employee_staging_login ON employee_staging (load_id, login);
@@ -0,0 +1,133 @@
+package com.department.hr.employeeManagement.config;
+
+import com.department.hr.employeeManagement.EmployeeManagementApplication;
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.repository.EmployeeBatchRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Puts the same listing load on the application once with platform request threads and once with virtual ones.
+ * Each run starts its own application on a random port with its own in-memory database; caches are disabled so
+ * that every request reaches the database.
+ */
+@Slf4j
+class VirtualThreadLoadTest {
+
+    private static final int ROWS = 5_000;
+    private static final int CLIENTS = 100;
+    private static final int REQUESTS_PER_CLIENT = 5;
+
+    @Test
+    @Tag("benchmark")
+    void shouldServeTheSameLoadOnPlatformAndVirtualThreads() throws Exception {
+        final LoadResult platform = run(false);
+        final LoadResult virtual = run(true);
+
+        log.info("{} clients x {} listings over {} rows: platform threads {} req/s p99 {} ms, virtual threads {} req/s p99 {} ms",
+                CLIENTS, REQUESTS_PER_CLIENT, ROWS, platform.throughput(), platform.p99Millis(), virtual.throughput(), virtual.p99Millis());
+        assertThat(platform.failures).isZero();
+        assertThat(virtual.failures).isZero();
+    }
+
+    @Test
+    void shouldRunAsyncRequestsOnVirtualThreadsWhenEnabled() throws Exception {
+        try (ConfigurableApplicationContext context = start(true)) {
+            AsyncTaskExecutor executor = context.getBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, AsyncTaskExecutor.class);
+            assertThat(executor.submit(() -> Thread.currentThread().isVirtual()).get(10, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    private LoadResult run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = start(virtualThreads)) {
+            final List<Employee> employees = new ArrayList<>();
+            for (int i = 0; i < ROWS; i++) {
+                employees.add(new Employee(String.format("load%06d", i), "loadlogin" + i, "Name " + i, (double) (i % 4000), LocalDate.of(2020, 1, 1)));
+            }
+            context.getBean(EmployeeBatchRepository.class).insertAll(employees);
+
+            final int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            final long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+            final AtomicInteger failures = new AtomicInteger();
+            final CountDownLatch ready = new CountDownLatch(1);
+            final List<Future<?>> futures = new ArrayList<>();
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int c = 0; c < CLIENTS; c++) {
+                    final int clientIndex = c;
+                    futures.add(clients.submit(() -> {
+                        ready.await();
+                        for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                            final int offset = ThreadLocalRandom.current().nextInt(ROWS / 2);
+                            final HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                                    + "/users?minSalary=0&maxSalary=4000&limit=20&offset=" + offset)).build();
+                            final long start = System.nanoTime();
+                            final HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                            latencies[clientIndex * REQUESTS_PER_CLIENT + r] = System.nanoTime() - start;
+                            if (response.statusCode() != 200) {
+                                failures.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                final long start = System.nanoTime();
+                ready.countDown();
+                for (Future<?> future : futures) {
+                    future.get(5, TimeUnit.MINUTES);
+                }
+                return new LoadResult(System.nanoTime() - start, latencies, failures.get());
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext start(boolean virtualThreads) {
+        return new SpringApplicationBuilder(EmployeeManagementApplication.class)
+                .properties("server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:load" + virtualThreads,
+                        "employee.threads.virtual=" + virtualThreads,
+                        "employee.listing.result-cache.enabled=false",
+                        "employee.listing.coalescing.enabled=false")
+                .run();
+    }
+
+    private static class LoadResult {
+        private final long elapsedNanos;
+        private final long[] latencies;
+        private final int failures;
+
+        LoadResult(long elapsedNanos, long[] latencies, int failures) {
+            this.elapsedNanos = elapsedNanos;
+            this.latencies = latencies.clone();
+            this.failures = failures;
+            Arrays.sort(this.latencies);
+        }
+
+        long throughput() {
+            return latencies.length * 1_000_000_000L / elapsedNanos;
+        }
+
+        long p99Millis() {
+            return latencies[(int) (latencies.length * 0.99)] / 1_000_000;
+        }
+    }
+}
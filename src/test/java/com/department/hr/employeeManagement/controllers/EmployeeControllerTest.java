@@ -2,7 +2,9 @@ package com.department.hr.employeeManagement.controllers;
 
 import com.department.hr.employeeManagement.entity.Employee;
 import com.department.hr.employeeManagement.repository.EmployeeRepository;
+import com.department.hr.employeeManagement.vo.ChunkSummary;
 import com.department.hr.employeeManagement.vo.Results;
+import com.department.hr.employeeManagement.vo.UploadJobStatus;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -17,14 +19,23 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -114,7 +125,7 @@ class EmployeeControllerTest {
             mockMvc
                     .perform(multipart("/users/upload").file(file))
                     .andExpect(status().is(400))
-                    .andExpect(content().string("Duplicate ids detected - [e1]"));
+                    .andExpect(content().string("Duplicate ids detected - [e1 (rows 1, 2)]"));
 
             assertThat(repository.findAll().size()).isEqualTo(totalEntities);
         }
@@ -137,7 +148,7 @@ class EmployeeControllerTest {
             mockMvc
                     .perform(multipart("/users/upload").file(file))
                     .andExpect(status().is(400))
-                    .andExpect(content().string("Duplicate login ids detected - [j1]"));
+                    .andExpect(content().string("Duplicate login ids detected - [j1 (rows 1, 2)]"));
 
             assertThat(repository.findAll().size()).isEqualTo(totalEntities);
         }
@@ -165,6 +176,292 @@ class EmployeeControllerTest {
             assertThat(repository.findAll().size()).isEqualTo(totalEntities);
         }
 
+        @Test
+        void shouldUploadValidRowsAndReportRejectedRowsInStreamingMode() throws Exception {
+            int totalEntities = repository.findAll().size();
+            String content = "id,login, name,salary,startDate\n" +
+                    "e1,j1, Jooni,134,2001-11-19\n" +
+                    "e2,h1, Hoon,-404.5,2005-08-11\n" +
+                    "e3,hy, Hyuk,8844.999,2020-03-12\n" +
+                    "e4,harry1, Harry,10,2020-03-12";
+            MockMultipartFile file
+                    = new MockMultipartFile(
+                    "file",
+                    "hello.txt",
+                    "text/csv",
+                    content.getBytes()
+            );
+
+            mockMvc
+                    .perform(multipart("/users/upload").file(file).param("streaming", "true"))
+                    .andExpect(status().is(201))
+                    .andExpect(jsonPath("$.accepted").value(2))
+                    .andExpect(jsonPath("$.rejected").value(2))
+                    .andExpect(jsonPath("$.chunks[0].errors.length()").value(2));
+
+            assertThat(repository.findAll().size()).isEqualTo(totalEntities + 2);
+        }
+
+        @Test
+        void shouldRejectRowsRepeatingAnEarlierChunkInStreamingMode() throws Exception {
+            // the default chunk size is 1000 rows, so the repeated rows fall in the second chunk
+            StringBuilder content = new StringBuilder("id,login, name,salary,startDate\n");
+            for (int i = 0; i < 1000; i++) {
+                content.append("c").append(i).append(",cl").append(i).append(", Name,10,2020-01-01\n");
+            }
+            content.append("c0,other0, Other,20,2020-01-01\n")
+                    .append("c1000,cl1, Other,20,2020-01-01");
+            MockMultipartFile file
+                    = new MockMultipartFile(
+                    "file",
+                    "hello.txt",
+                    "text/csv",
+                    content.toString().getBytes()
+            );
+
+            mockMvc
+                    .perform(multipart("/users/upload").file(file).param("streaming", "true"))
+                    .andExpect(status().is(201))
+                    .andExpect(jsonPath("$.accepted").value(1000))
+                    .andExpect(jsonPath("$.rejected").value(2))
+                    .andExpect(jsonPath("$.chunks[1].errors[0]").value("row 1001: Duplicate id c0"))
+                    .andExpect(jsonPath("$.chunks[1].errors[1]").value("row 1002: Duplicate login id cl1"));
+
+            assertThat(repository.findById("c0").get().getLogin()).isEqualTo("cl0");
+            assertFalse(repository.findById("c1000").isPresent());
+        }
+
+        @Test
+        void shouldReportTheViolatedConstraintOfARefusedRowInStreamingMode() throws Exception {
+            String content = "id,login, name,salary,startDate\n" +
+                    "e1,j1, Jooni,134,2001-11-19\n" +
+                    "e2,h1, " + String.join("", Collections.nCopies(300, "n")) + ",404.5,2005-08-11\n" +
+                    "e3,harry1, Hyuk,8844.999,2020-03-12";
+            MockMultipartFile file
+                    = new MockMultipartFile(
+                    "file",
+                    "hello.txt",
+                    "text/csv",
+                    content.getBytes()
+            );
+
+            mockMvc
+                    .perform(multipart("/users/upload").file(file).param("streaming", "true"))
+                    .andExpect(status().is(201))
+                    .andExpect(jsonPath("$.accepted").value(1))
+                    .andExpect(jsonPath("$.chunks[0].errors[0]").value(startsWith("row 2: Value too long")))
+                    .andExpect(jsonPath("$.chunks[0].errors[1]").value("row 3: Login id is not unique"));
+        }
+
+        @Test
+        void shouldCountRejectedRowsBeyondTheListedErrorsInStreamingMode() throws Exception {
+            StringBuilder content = new StringBuilder("id,login, name,salary,startDate\n");
+            for (int i = 0; i < ChunkSummary.MAX_ERRORS + 50; i++) {
+                content.append("x").append(i).append(",xl").append(i).append(", Name,-10,2020-01-01\n");
+            }
+            MockMultipartFile file
+                    = new MockMultipartFile(
+                    "file",
+                    "hello.txt",
+                    "text/csv",
+                    content.toString().getBytes()
+            );
+
+            mockMvc
+                    .perform(multipart("/users/upload").file(file).param("streaming", "true"))
+                    .andExpect(status().is(200))
+                    .andExpect(jsonPath("$.rejected").value(ChunkSummary.MAX_ERRORS + 50))
+                    .andExpect(jsonPath("$.omittedErrors").value(50))
+                    .andExpect(jsonPath("$.chunks[0].errors.length()").value(ChunkSummary.MAX_ERRORS))
+                    .andExpect(jsonPath("$.chunks[0].omittedErrors").value(50));
+        }
+
+        @Test
+        void shouldProcessUploadInBackgroundAndReportProgressWhenAsync() throws Exception {
+            int totalEntities = repository.findAll().size();
+            String content = "id,login, name,salary,startDate\n" +
+                    "e1,j1, Jooni,134,2001-11-19\n" +
+                    "e2,h1, Hoon,404.5,2005-08-11\n" +
+                    "e3,hy, Hyuk,8844.999,2020-03-12";
+            MockMultipartFile file
+                    = new MockMultipartFile(
+                    "file",
+                    "hello.txt",
+                    "text/csv",
+                    content.getBytes()
+            );
+
+            MvcResult submitted = mockMvc
+                    .perform(multipart("/users/upload").file(file).param("async", "true"))
+                    .andExpect(status().is(202))
+                    .andReturn();
+            UploadJobStatus job = mapper.readValue(submitted.getResponse().getContentAsString(), UploadJobStatus.class);
+            assertNotNull(job.getJobId());
+
+            long deadline = System.currentTimeMillis() + 10_000;
+            do {
+                Thread.sleep(50);
+                MvcResult polled = mockMvc
+                        .perform(get("/users/upload/jobs/" + job.getJobId()))
+                        .andExpect(status().isOk())
+                        .andReturn();
+                job = mapper.readValue(polled.getResponse().getContentAsString(), UploadJobStatus.class);
+            } while (!"COMPLETED".equals(job.getState()) && System.currentTimeMillis() < deadline);
+
+            assertThat(job.getState()).isEqualTo("COMPLETED");
+            assertThat(job.getRowsProcessed()).isEqualTo(3);
+            assertThat(job.getAccepted()).isEqualTo(3);
+            assertThat(repository.findAll().size()).isEqualTo(totalEntities + 3);
+        }
+
+        @Test
+        void shouldReturnBadRequestForUnknownUploadJob() throws Exception {
+            mockMvc
+                    .perform(get("/users/upload/jobs/unknown"))
+                    .andExpect(status().is(400))
+                    .andExpect(content().string("No such upload job"));
+        }
+
+        @Test
+        void shouldOnlyWriteDifferencesWhenSyncingFullRoster() throws Exception {
+            repository.save(new Employee("emp0002", "ron1", "Ron Weasley", 100.0, LocalDate.of(2012, 12, 26)));
+            String content = "id,login, name,salary,startDate\n" +
+                    "emp0003,hermione1, Hermione Granger,3000,2013-01-02\n" +
+                    "emp0001,harry1, Harry Potter,1500,2012-12-26";
+            MockMultipartFile file
+                    = new MockMultipartFile(
+                    "file",
+                    "hello.txt",
+                    "text/csv",
+                    content.getBytes()
+            );
+
+            mockMvc
+                    .perform(multipart("/users/upload").file(file).param("sync", "true"))
+                    .andExpect(status().is(200))
+                    .andExpect(jsonPath("$.inserted").value(1))
+                    .andExpect(jsonPath("$.updated").value(1))
+                    .andExpect(jsonPath("$.deleted").value(1))
+                    .andExpect(jsonPath("$.unchanged").value(0));
+
+            assertThat(repository.findAll().stream().map(Employee::getId).sorted().collect(Collectors.toList()))
+                    .isEqualTo(Arrays.asList("emp0001", "emp0003"));
+            assertThat(repository.findById("emp0001").get().getSalary()).isEqualTo(1500.0);
+
+            mockMvc
+                    .perform(multipart("/users/upload").file(file).param("sync", "true"))
+                    .andExpect(status().is(200))
+                    .andExpect(jsonPath("$.inserted").value(0))
+                    .andExpect(jsonPath("$.updated").value(0))
+                    .andExpect(jsonPath("$.deleted").value(0))
+                    .andExpect(jsonPath("$.unchanged").value(2));
+        }
+
+        @Test
+        void shouldRefuseToSyncARosterWithoutEmployees() throws Exception {
+            MockMultipartFile file
+                    = new MockMultipartFile(
+                    "file",
+                    "hello.txt",
+                    "text/csv",
+                    "id,login, name,salary,startDate\n".getBytes()
+            );
+
+            mockMvc
+                    .perform(multipart("/users/upload").file(file).param("sync", "true"))
+                    .andExpect(status().is(400))
+                    .andExpect(content().string("Roster file has no employees, refusing to delete all employees"));
+
+            assertTrue(repository.findById("emp0001").isPresent());
+        }
+
+        @Test
+        void shouldMoveLoginsBetweenEmployeesWhenSyncingFullRoster() throws Exception {
+            repository.save(new Employee("emp0002", "ron1", "Ron Weasley", 100.0, LocalDate.of(2012, 12, 26)));
+            String content = "id,login, name,salary,startDate\n" +
+                    "emp0002,ron2, Ron Weasley,100,2012-12-26\n" +
+                    "emp0001,ron1, Harry Potter,1200.50,2012-12-26\n" +
+                    "emp0000,harry1, Hermione Granger,3000,2013-01-02";
+            MockMultipartFile file
+                    = new MockMultipartFile(
+                    "file",
+                    "hello.txt",
+                    "text/csv",
+                    content.getBytes()
+            );
+
+            mockMvc
+                    .perform(multipart("/users/upload").file(file).param("sync", "true"))
+                    .andExpect(status().is(200))
+                    .andExpect(jsonPath("$.inserted").value(1))
+                    .andExpect(jsonPath("$.updated").value(2))
+                    .andExpect(jsonPath("$.deleted").value(0));
+
+            assertThat(repository.findById("emp0000").get().getLogin()).isEqualTo("harry1");
+            assertThat(repository.findById("emp0001").get().getLogin()).isEqualTo("ron1");
+            assertThat(repository.findById("emp0002").get().getLogin()).isEqualTo("ron2");
+        }
+
+        @Test
+        void shouldLeaveTableUntouchedWhenSyncedRosterRepeatsALogin() throws Exception {
+            repository.save(new Employee("emp0002", "ron1", "Ron Weasley", 100.0, LocalDate.of(2012, 12, 26)));
+            String content = "id,login, name,salary,startDate\n" +
+                    "emp0000,hermione1, Hermione Granger,3000,2013-01-02\n" +
+                    "emp0001,harry1, Harry Potter,1500,2012-12-26\n" +
+                    "emp0003,hermione1, Hermione Granger,3000,2013-01-02";
+            MockMultipartFile file
+                    = new MockMultipartFile(
+                    "file",
+                    "hello.txt",
+                    "text/csv",
+                    content.getBytes()
+            );
+
+            mockMvc
+                    .perform(multipart("/users/upload").file(file).param("sync", "true"))
+                    .andExpect(status().is(400))
+                    .andExpect(content().string("Duplicate login ids detected, roster was not synchronised"));
+
+            assertThat(repository.findAll().stream().map(Employee::getId).sorted().collect(Collectors.toList()))
+                    .isEqualTo(Arrays.asList("emp0001", "emp0002"));
+            assertThat(repository.findById("emp0001").get().getSalary()).isEqualTo(1200.50);
+        }
+
+        @Test
+        void shouldLoadValidRowsAndReportClashesInBulkMode() throws Exception {
+            String content = "id,login, name,salary,startDate\n" +
+                    "e1,j1, Jooni,134,2001-11-19\n" +
+                    "e2,j1, Hoon,404.5,2005-08-11\n" +
+                    "e3,harry1, Hyuk,8844.999,2020-03-12\n" +
+                    "emp0001,harry1, Harry Potter,2000,2012-12-26\n" +
+                    "e4,l4, Invalid,-1,2012-12-26\n" +
+                    "e5,l5, Valid,10,2012-12-26";
+            MockMultipartFile file
+                    = new MockMultipartFile(
+                    "file",
+                    "hello.txt",
+                    "text/csv",
+                    content.getBytes()
+            );
+
+            mockMvc
+                    .perform(multipart("/users/upload").file(file).param("bulk", "true"))
+                    .andExpect(status().is(201))
+                    .andExpect(jsonPath("$.staged").value(5))
+                    .andExpect(jsonPath("$.invalid").value(1))
+                    .andExpect(jsonPath("$.inserted").value(1))
+                    .andExpect(jsonPath("$.updated").value(1))
+                    .andExpect(jsonPath("$.clashCount").value(3))
+                    .andExpect(jsonPath("$.clashes[0].id").value("e1"))
+                    .andExpect(jsonPath("$.clashes[0].type").value("DUPLICATE_LOGIN"))
+                    .andExpect(jsonPath("$.clashes[2].id").value("e3"))
+                    .andExpect(jsonPath("$.clashes[2].type").value("LOGIN_TAKEN"));
+
+            assertThat(repository.findById("emp0001").get().getSalary()).isEqualTo(2000.0);
+            assertTrue(repository.findById("e5").isPresent());
+            assertFalse(repository.findById("e3").isPresent());
+        }
+
         @Test
         void getEmployeesShouldReturnBadInputErrorIfInputFileIsNotPassed() throws Exception {
             mockMvc
@@ -228,6 +525,39 @@ class EmployeeControllerTest {
             assertThat(employeeUpdated.get().getName()).isEqualTo("Entwickeln Sie mit Vergnügen");
         }
 
+        @Test
+        void shouldPatchOnlySuppliedFields() throws Exception {
+            mockMvc
+                    .perform(patch("/users/emp0001").contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"salary\": 2500}"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string("Successfully updated"));
+
+            Employee patched = repository.findById("emp0001").get();
+            assertThat(patched.getSalary()).isEqualTo(2500);
+            assertThat(patched.getLogin()).isEqualTo("harry1");
+            assertThat(patched.getName()).isEqualTo("Harry Potter");
+        }
+
+        @Test
+        void shouldReturnNotFoundWhenPatchingUnknownEmployee() throws Exception {
+            mockMvc
+                    .perform(patch("/users/unknown").contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"salary\": 2500}"))
+                    .andExpect(status().isNotFound())
+                    .andExpect(content().string("No such employee"));
+        }
+
+        @Test
+        void shouldReturnBadRequestWhenPatchedLoginIsTaken() throws Exception {
+            repository.save(new Employee("emp0002", "ron1", "Ron Weasley", 100.0, LocalDate.of(2012, 12, 26)));
+            mockMvc
+                    .perform(patch("/users/emp0002").contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"login\": \"harry1\"}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().string("Employee login not unique"));
+        }
+
         @Test
         void shouldDeleteEmployeeWhenCorrectIdIsGiven() throws Exception {
             String empId = "emp0001";
@@ -243,6 +573,37 @@ class EmployeeControllerTest {
             assertFalse(employeeUpdated.isPresent());
         }
 
+        @Test
+        void shouldApplyBulkOperationsAndReportEachOne() throws Exception {
+            String input = "[" +
+                    "{\"op\":\"create\",\"id\":\"emp0002\",\"login\":\"ron1\",\"name\":\"Ron Weasley\",\"salary\":100.0,\"startDate\":\"2012-12-26\"}," +
+                    "{\"op\":\"create\",\"id\":\"emp0003\",\"login\":\"harry1\",\"name\":\"Clash\",\"salary\":100.0,\"startDate\":\"2012-12-26\"}," +
+                    "{\"op\":\"update\",\"id\":\"emp0001\",\"login\":\"harry2\",\"name\":\"Harry Potter\",\"salary\":2000.0,\"startDate\":\"2012-12-26\"}," +
+                    "{\"op\":\"create\",\"id\":\"emp0004\",\"login\":\"harry1\",\"name\":\"Login freed\",\"salary\":100.0,\"startDate\":\"2012-12-26\"}," +
+                    "{\"op\":\"delete\",\"id\":\"emp0002\"}," +
+                    "{\"op\":\"delete\",\"id\":\"unknown\"}," +
+                    "{\"op\":\"rename\",\"id\":\"emp0001\"}" +
+                    "]";
+            mockMvc
+                    .perform(post("/users/bulk")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(input))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.succeeded").value(4))
+                    .andExpect(jsonPath("$.failed").value(3))
+                    .andExpect(jsonPath("$.results[0].status").value("created"))
+                    .andExpect(jsonPath("$.results[1].error").value("Employee login not unique"))
+                    .andExpect(jsonPath("$.results[2].status").value("updated"))
+                    .andExpect(jsonPath("$.results[3].status").value("created"))
+                    .andExpect(jsonPath("$.results[4].status").value("deleted"))
+                    .andExpect(jsonPath("$.results[5].error").value("No such employee"))
+                    .andExpect(jsonPath("$.results[6].status").value("failed"));
+
+            assertThat(repository.findById("emp0001").get().getLogin()).isEqualTo("harry2");
+            assertThat(repository.findById("emp0004").get().getLogin()).isEqualTo("harry1");
+            assertFalse(repository.findById("emp0002").isPresent());
+        }
+
         @Test
         void shouldGetEmployeeWhenCorrectIdIsGiven() throws Exception {
             String empId = "emp0001";
@@ -260,6 +621,7 @@ class EmployeeControllerTest {
     class validateGetEmployeesService {
         @BeforeAll
         void beforeEach() throws Exception {
+            repository.deleteAll();
             String content = "id,login,name,salary,startDate\n" +
                     "e0001,hpotter,Harry Potter,1234.00,16-Nov-01\n" +
                     "e0002,rwesley,Ron Weasley,19234.50,2001-11-16\n" +
@@ -346,6 +708,229 @@ class EmployeeControllerTest {
 
         }
 
+        @Test
+        void shouldWalkAllPagesWithContinuationTokens() throws Exception {
+            List<String> ids = new ArrayList<>();
+            String continuationToken = null;
+            int pages = 0;
+            do {
+                MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<>();
+                queryParams.add("maxSalary", "200000");
+                queryParams.add("limit", "3");
+                queryParams.add("orderByfieldAndDirection", "startDate-desc,salary-asc");
+                if (continuationToken != null) {
+                    queryParams.add("continuationToken", continuationToken);
+                }
+                MvcResult page = mockMvc
+                        .perform(get("/users")
+                                .queryParams(queryParams))
+                        .andExpect(status().is(200))
+                        .andReturn();
+                Results results = mapper.readValue(page.getResponse().getContentAsString(), Results.class);
+                results.getResults().stream().map(Employee::getId).forEach(ids::add);
+                continuationToken = results.getNext();
+                pages++;
+            } while (continuationToken != null && pages < 10);
+
+            assertThat(pages).isEqualTo(3);
+            assertThat(ids).isEqualTo(Arrays.asList("e0008", "e0007", "e0006", "e0005", "e0001", "e0004", "e0003", "e0002"));
+        }
+
+        @Test
+        void shouldReturnBadRequestWhenContinuationTokenDoesNotMatchSortOrder() throws Exception {
+            MvcResult page = mockMvc
+                    .perform(get("/users").param("limit", "2"))
+                    .andExpect(status().is(200))
+                    .andReturn();
+            String continuationToken = mapper.readValue(page.getResponse().getContentAsString(), Results.class).getNext();
+            assertNotNull(continuationToken);
+
+            mockMvc
+                    .perform(get("/users")
+                            .param("limit", "2")
+                            .param("orderByfieldAndDirection", "salary-desc")
+                            .param("continuationToken", continuationToken))
+                    .andExpect(status().is(400))
+                    .andExpect(content().string("Continuation token does not match orderByfieldAndDirection"));
+        }
+
+        @Test
+        void shouldIncludeTotalOnlyWhenRequested() throws Exception {
+            mockMvc
+                    .perform(get("/users").param("limit", "2"))
+                    .andExpect(status().is(200))
+                    .andExpect(jsonPath("$.total").doesNotExist());
+
+            mockMvc
+                    .perform(get("/users").param("limit", "2").param("includeTotal", "true"))
+                    .andExpect(status().is(200))
+                    .andExpect(jsonPath("$.results.length()").value(2))
+                    .andExpect(jsonPath("$.total").value(5));
+        }
+
+        @Test
+        void shouldStreamAllEmployeesAsNdjson() throws Exception {
+            MvcResult started = mockMvc
+                    .perform(get("/users")
+                            .accept(MediaType.APPLICATION_NDJSON)
+                            .param("maxSalary", "200000")
+                            .param("orderByfieldAndDirection", "startDate-desc,salary-asc"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            MvcResult result = mockMvc
+                    .perform(asyncDispatch(started))
+                    .andExpect(status().is(200))
+                    .andReturn();
+
+            List<String> ids = new ArrayList<>();
+            for (String line : result.getResponse().getContentAsString().split("\n")) {
+                ids.add(mapper.readValue(line, Employee.class).getId());
+            }
+            assertThat(ids).isEqualTo(Arrays.asList("e0008", "e0007", "e0006", "e0005", "e0001", "e0004", "e0003", "e0002"));
+        }
+
+        @Test
+        void shouldStreamResultsEnvelopeWhenRequested() throws Exception {
+            MvcResult started = mockMvc
+                    .perform(get("/users").param("stream", "true"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            MvcResult result = mockMvc
+                    .perform(asyncDispatch(started))
+                    .andExpect(status().is(200))
+                    .andReturn();
+
+            Results results = mapper.readValue(result.getResponse().getContentAsString(), Results.class);
+            List<String> ids = results.getResults().stream().map(Employee::getId).collect(Collectors.toList());
+            assertThat(ids).isEqualTo(Arrays.asList("e0001", "e0004", "e0005", "e0007", "e0008"));
+        }
+
+        @Test
+        void shouldApplyOffsetAndLimitWhenStreaming() throws Exception {
+            MvcResult started = mockMvc
+                    .perform(get("/users")
+                            .accept(MediaType.APPLICATION_NDJSON)
+                            .param("maxSalary", "200000")
+                            .param("orderByfieldAndDirection", "startDate-desc,salary-asc")
+                            .param("offset", "2")
+                            .param("limit", "3"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            MvcResult result = mockMvc
+                    .perform(asyncDispatch(started))
+                    .andExpect(status().is(200))
+                    .andReturn();
+
+            List<String> ids = new ArrayList<>();
+            for (String line : result.getResponse().getContentAsString().split("\n")) {
+                ids.add(mapper.readValue(line, Employee.class).getId());
+            }
+            assertThat(ids).isEqualTo(Arrays.asList("e0006", "e0005", "e0001"));
+
+            started = mockMvc
+                    .perform(get("/users").param("stream", "true").param("offset", "1").param("limit", "2"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            result = mockMvc
+                    .perform(asyncDispatch(started))
+                    .andExpect(status().is(200))
+                    .andReturn();
+
+            Results results = mapper.readValue(result.getResponse().getContentAsString(), Results.class);
+            assertThat(results.getResults().stream().map(Employee::getId).collect(Collectors.toList()))
+                    .isEqualTo(Arrays.asList("e0004", "e0005"));
+        }
+
+        @Test
+        void shouldRejectContinuationTokenWhenStreaming() throws Exception {
+            mockMvc
+                    .perform(get("/users").param("stream", "true").param("continuationToken", "abc"))
+                    .andExpect(status().is(400));
+        }
+
+        @Test
+        void shouldExportCsvInTheUploadFormat() throws Exception {
+            MvcResult started = mockMvc
+                    .perform(get("/users/export").param("orderByfieldAndDirection", "salary-desc"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            MvcResult result = mockMvc
+                    .perform(asyncDispatch(started))
+                    .andExpect(status().is(200))
+                    .andExpect(header().string("Content-Disposition", "attachment; filename=\"employees.csv\""))
+                    .andReturn();
+
+            assertThat(result.getResponse().getContentAsString().split("\r\n")).containsExactly(
+                    "id,login,name,salary,startDate",
+                    "e0004,rhagrid,Rubeus Hagrid,3999.999,2001-11-16",
+                    "e0001,hpotter,Harry Potter,1234.0,2001-11-16",
+                    "e0005,voldemort,Lord Voldemort,523.4,2001-11-17",
+                    "e0008,adumbledore,Albus Dumbledore,34.23,2001-11-19",
+                    "e0007,hgranger,Hermione Granger,0.0,2001-11-18");
+        }
+
+        @Test
+        void shouldGzipExportWhenRequested() throws Exception {
+            MvcResult started = mockMvc
+                    .perform(get("/users/export").param("gzip", "true"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            MvcResult result = mockMvc
+                    .perform(asyncDispatch(started))
+                    .andExpect(status().is(200))
+                    .andReturn();
+
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray())), StandardCharsets.UTF_8))) {
+                assertThat(reader.readLine()).isEqualTo("id,login,name,salary,startDate");
+                assertThat(reader.lines().count()).isEqualTo(5);
+            }
+        }
+
+        @Test
+        void shouldReturnOnlyRequestedFields() throws Exception {
+            mockMvc
+                    .perform(get("/users").param("fields", "id,name").param("limit", "2"))
+                    .andExpect(status().is(200))
+                    .andExpect(jsonPath("$.results.length()").value(2))
+                    .andExpect(jsonPath("$.results[0].id").value("e0001"))
+                    .andExpect(jsonPath("$.results[0].name").value("Harry Potter"))
+                    .andExpect(jsonPath("$.results[0].login").doesNotExist())
+                    .andExpect(jsonPath("$.results[0].salary").doesNotExist());
+
+            mockMvc
+                    .perform(get("/users/e0002").param("fields", "login"))
+                    .andExpect(status().is(200))
+                    .andExpect(content().json("{\"login\":\"rwesley\"}", true));
+        }
+
+        @Test
+        void shouldReturnBadRequestForUnknownField() throws Exception {
+            mockMvc
+                    .perform(get("/users").param("fields", "id,password"))
+                    .andExpect(status().is(400));
+        }
+
+        @Test
+        void shouldRejectContinuationTokenWithFields() throws Exception {
+            mockMvc
+                    .perform(get("/users").param("fields", "id,name").param("limit", "2").param("continuationToken", "abc"))
+                    .andExpect(status().is(400));
+        }
+
+        @Test
+        void shouldLookUpManyEmployeesAtOnce() throws Exception {
+            mockMvc
+                    .perform(post("/users/lookup")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"ids\":[\"e0003\",\"unknown\",\"e0001\",\"e0003\"]}"))
+                    .andExpect(status().is(200))
+                    .andExpect(jsonPath("$.found.length()").value(2))
+                    .andExpect(jsonPath("$.found[0].id").value("e0003"))
+                    .andExpect(jsonPath("$.found[1].id").value("e0001"))
+                    .andExpect(jsonPath("$.missing[0]").value("unknown"));
+        }
+
         @Test
         void shouldSortAsPerSortOrder() throws Exception {
             MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<>();
@@ -0,0 +1,94 @@
+package com.department.hr.employeeManagement.domain;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeSnapshotTest {
+
+    private final Random random = new Random(7);
+
+    @Test
+    void shouldAnswerSalaryRangeListingsLikeFilteringAndSorting() {
+        List<Employee> employees = employees(500);
+        EmployeeSnapshot snapshot = EmployeeSnapshot.of(1, employees.iterator());
+
+        List<List<Sort.Order>> sorts = Arrays.asList(
+                Arrays.asList(Sort.Order.asc("salary"), Sort.Order.asc("id")),
+                Arrays.asList(Sort.Order.desc("salary"), Sort.Order.asc("id")),
+                Arrays.asList(Sort.Order.asc("id")),
+                Arrays.asList(Sort.Order.desc("startDate"), Sort.Order.asc("salary"), Sort.Order.asc("id")),
+                Arrays.asList(Sort.Order.asc("name"), Sort.Order.asc("id")));
+        for (List<Sort.Order> sort : sorts) {
+            assertThat(ids(snapshot.find(100, 700, sort, 0, 0))).isEqualTo(ids(expected(employees, 100, 700, sort, 0, 0)));
+            assertThat(ids(snapshot.find(100, 700, sort, 15, 10))).isEqualTo(ids(expected(employees, 100, 700, sort, 15, 10)));
+        }
+    }
+
+    @Test
+    void shouldApplyChangesCopyOnWrite() {
+        List<Employee> employees = employees(200);
+        EmployeeSnapshot original = EmployeeSnapshot.of(1, employees.iterator());
+        List<Sort.Order> sort = Arrays.asList(Sort.Order.asc("salary"), Sort.Order.asc("id"));
+
+        Employee added = new Employee("e0100a", "added", "Added", 350d, LocalDate.of(2020, 1, 1));
+        Employee updated = new Employee("e0050", "updated", "Updated", 999d, LocalDate.of(2020, 1, 1));
+        EmployeeSnapshot changed = original.withEmployee(added, 2).withEmployee(updated, 3).withoutEmployee("e0007", 4);
+
+        List<Employee> expected = new ArrayList<>(employees);
+        expected.removeIf(e -> e.getId().equals("e0050") || e.getId().equals("e0007"));
+        expected.add(added);
+        expected.add(updated);
+        expected.sort(Comparator.comparing(Employee::getId));
+
+        assertThat(changed.getGeneration()).isEqualTo(4);
+        assertThat(changed.size()).isEqualTo(200);
+        assertThat(changed.find(0, 10_000, sort, 0, 0)).isEqualTo(expected(expected, 0, 10_000, sort, 0, 0));
+        assertThat(original.find(0, 10_000, sort, 0, 0)).isEqualTo(expected(employees, 0, 10_000, sort, 0, 0));
+    }
+
+    private List<Employee> employees(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new Employee(String.format("e%04d", i), "login" + i, "Name " + random.nextInt(20),
+                        (double) random.nextInt(1000), LocalDate.of(2000, 1, 1).plusDays(random.nextInt(30))))
+                .collect(Collectors.toList());
+    }
+
+    private List<Employee> expected(List<Employee> employees, double min, double max, List<Sort.Order> sort, int offset, int limit) {
+        Comparator<Employee> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<Employee> field;
+            switch (order.getProperty()) {
+                case "salary":
+                    field = Comparator.comparing(Employee::getSalary);
+                    break;
+                case "startDate":
+                    field = Comparator.comparing(Employee::getStartDate);
+                    break;
+                case "name":
+                    field = Comparator.comparing(Employee::getName);
+                    break;
+                default:
+                    field = Comparator.comparing(Employee::getId);
+            }
+            comparator = comparator.thenComparing(order.isAscending() ? field : field.reversed());
+        }
+        List<Employee> matching = employees.stream()
+                .filter(e -> e.getSalary() >= min && e.getSalary() < max)
+                .sorted(comparator.thenComparing(Employee::getId))
+                .skip(offset)
+                .collect(Collectors.toList());
+        return limit > 0 ? matching.subList(0, Math.min(limit, matching.size())) : matching;
+    }
+
+    private List<String> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).collect(Collectors.toList());
+    }
+}
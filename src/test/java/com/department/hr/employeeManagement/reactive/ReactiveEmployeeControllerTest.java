@@ -0,0 +1,250 @@
+package com.department.hr.employeeManagement.reactive;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.validators.EmployeeValidator;
+import com.department.hr.employeeManagement.vo.Results;
+import com.department.hr.employeeManagement.vo.UploadSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyInserters;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = ReactiveEmployeeApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.main.web-application-type=reactive",
+                "spring.r2dbc.url=r2dbc:h2:mem:///employeeManagementReactiveTest;DB_CLOSE_DELAY=-1"})
+@ActiveProfiles("reactive")
+@AutoConfigureWebTestClient
+class ReactiveEmployeeControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ReactiveEmployeeRepository repository;
+
+    @BeforeEach
+    void setup() {
+        databaseClient.sql("DELETE FROM employee").then().block();
+        repository.upsertAll(Arrays.asList(
+                new Employee("e0001", "harry1", "Harry Potter", 1200.5, LocalDate.of(2012, 12, 26)),
+                new Employee("e0002", "ron1", "Ron Weasley", 300.0, LocalDate.of(2013, 1, 2)),
+                new Employee("e0003", "hermione1", "Hermione Granger", 3000.0, LocalDate.of(2011, 5, 3)),
+                new Employee("e0004", "ginny1", "Ginny Weasley", 300.0, LocalDate.of(2015, 8, 20)),
+                new Employee("e0005", "neville1", "Neville Longbottom", 5000.0, LocalDate.of(2014, 3, 11)))).block();
+    }
+
+    @Test
+    void shouldUploadValidRowsAndReportRejectedRows() {
+        String content = "id,login, name,salary,startDate\n" +
+                "e1,j1, Jooni,134,2001-11-19\n" +
+                "#e2,h1, Hoon,404.5,2005-08-11\n" +
+                "e3,hy, Hyuk,-1,2020-03-12\n" +
+                "e4,j1, Jay,10,2020-03-12\n" +
+                "e5,harry1, Taken,10,2020-03-12";
+
+        UploadSummary summary = webTestClient.post().uri("/users/upload")
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(BodyInserters.fromMultipartData(csv(content, "text/csv")))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(UploadSummary.class)
+                .returnResult().getResponseBody();
+
+        assertThat(summary.getAccepted()).isEqualTo(1);
+        assertThat(summary.getRejected()).isEqualTo(3);
+        assertThat(summary.getChunks().get(0).getErrors()).containsExactly(
+                "row 2: Invalid salary -1.0, salary should be greater than 0",
+                "row 3: Duplicate login id j1",
+                "row 4: Login id is not unique");
+        assertThat(repository.findById("e1").block().getName()).isEqualTo("Jooni");
+    }
+
+    @Test
+    void shouldRejectRowsRepeatingAnEarlierChunk() {
+        // the default chunk size is 1000 rows, so the repeated rows fall in the second chunk
+        StringBuilder content = new StringBuilder("id,login, name,salary,startDate\n");
+        for (int i = 0; i < 1000; i++) {
+            content.append("c").append(i).append(",cl").append(i).append(", Name,10,2020-01-01\n");
+        }
+        content.append("c0,other0, Other,20,2020-01-01\n")
+                .append("c1000,cl1, Other,20,2020-01-01");
+
+        UploadSummary summary = webTestClient.post().uri("/users/upload")
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(BodyInserters.fromMultipartData(csv(content.toString(), "text/csv")))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(UploadSummary.class)
+                .returnResult().getResponseBody();
+
+        assertThat(summary.getAccepted()).isEqualTo(1000);
+        assertThat(summary.getRejected()).isEqualTo(2);
+        assertThat(summary.getChunks().get(1).getErrors()).containsExactly(
+                "row 1001: Duplicate id c0",
+                "row 1002: Duplicate login id cl1");
+        assertThat(repository.findById("c0").block().getLogin()).isEqualTo("cl0");
+        assertThat(repository.findById("c1000").block()).isNull();
+        assertThat(databaseClient.sql("SELECT COUNT(*) AS total FROM employee_upload_key")
+                .map((row, metadata) -> row.get("total", Long.class)).one().block()).isZero();
+    }
+
+    @Test
+    void shouldRejectUploadWhichIsNotCsv() {
+        webTestClient.post().uri("/users/upload")
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(BodyInserters.fromMultipartData(csv("id,login,name,salary,startDate\n", "text/plain")))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("The input file provided is not of a valid format. Please upload a csv file only");
+    }
+
+    @Test
+    void shouldReturnOnlySpecifiedPage() {
+        Results results = webTestClient.get().uri("/users?limit=2&offset=1&orderByfieldAndDirection=salary-asc&includeTotal=true")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Results.class)
+                .returnResult().getResponseBody();
+
+        assertThat(ids(results.getResults())).containsExactly("e0004", "e0001");
+        assertThat(results.getTotal()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldReturnBadRequestForUnknownSortField() {
+        webTestClient.get().uri("/users?orderByfieldAndDirection=age-asc")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Can sort based on one of the following columns " + EmployeeValidator.FIELDS);
+    }
+
+    @Test
+    void shouldStreamAllEmployeesAsNdjson() {
+        List<Employee> employees = webTestClient.get().uri("/users?maxSalary=200000&orderByfieldAndDirection=startDate-desc")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Employee.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertThat(ids(employees)).containsExactly("e0004", "e0005", "e0002", "e0001", "e0003");
+    }
+
+    @Test
+    void shouldStreamResultsEnvelopeWhenRequested() {
+        Results results = webTestClient.get().uri("/users?stream=true")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Results.class)
+                .returnResult().getResponseBody();
+
+        assertThat(ids(results.getResults())).containsExactly("e0001", "e0002", "e0003", "e0004");
+    }
+
+    @Test
+    void shouldCreateEmployeeAndRejectTakenLogin() {
+        webTestClient.post().uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"id\":\"e0006\",\"login\":\"luna1\",\"name\":\"Luna Lovegood\",\"salary\":100.0,\"startDate\":\"2016-09-01\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("Successfully created");
+
+        webTestClient.post().uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"id\":\"e0007\",\"login\":\"luna1\",\"name\":\"Clash\",\"salary\":100.0,\"startDate\":\"2016-09-01\"}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Employee login not unique");
+
+        assertThat(repository.findById("e0006").block().getName()).isEqualTo("Luna Lovegood");
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenBodyIsInvalid() {
+        webTestClient.post().uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"id\":\"e0006\",\"login\":\"luna1\",\"salary\":100.0,\"startDate\":\"2016-09-01\"}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Invalid name");
+    }
+
+    @Test
+    void shouldUpdatePatchAndDeleteEmployee() {
+        webTestClient.put().uri("/users/e0001")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"login\":\"harry2\",\"name\":\"Harry Potter\",\"salary\":80000,\"startDate\":\"2001-11-16\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("Successfully updated");
+
+        webTestClient.patch().uri("/users/e0001")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"salary\":2500}")
+                .exchange()
+                .expectStatus().isOk();
+
+        Employee patched = repository.findById("e0001").block();
+        assertThat(patched.getLogin()).isEqualTo("harry2");
+        assertThat(patched.getSalary()).isEqualTo(2500);
+
+        webTestClient.delete().uri("/users/e0001")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("Successfully deleted");
+
+        webTestClient.get().uri("/users/e0001")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("No such employee");
+    }
+
+    @Test
+    void shouldReturnNotFoundWhenPatchingUnknownEmployee() {
+        webTestClient.patch().uri("/users/unknown")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"salary\":2500}")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(String.class).isEqualTo("No such employee");
+    }
+
+    private static MultiValueMap<String, HttpEntity<?>> csv(String content, String contentType) {
+        MultipartBodyBuilder builder = new MultipartBodyBuilder();
+        builder.part("file", new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public String getFilename() {
+                return "employees.csv";
+            }
+        }).contentType(MediaType.parseMediaType(contentType));
+        return builder.build();
+    }
+
+    private static List<String> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,154 @@
+package com.department.hr.employeeManagement.reactive;
+
+import com.department.hr.employeeManagement.EmployeeManagementApplication;
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.repository.EmployeeBatchRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Puts the same load on the servlet application and on the reactive one, each started on a random port with its own
+ * in-memory database holding the same rows. The servlet caches are disabled so that every request reaches the
+ * database in both applications.
+ */
+@Slf4j
+@Tag("benchmark")
+class ReactiveServletComparisonTest {
+
+    private static final int ROWS = 5_000;
+    private static final int PAGE_CLIENTS = 100;
+    private static final int PAGES_PER_CLIENT = 5;
+    private static final int STREAM_CLIENTS = 10;
+
+    private final List<Employee> employees = new ArrayList<>();
+
+    @Test
+    void shouldServeTheSameLoadOnServletAndReactiveStacks() throws Exception {
+        for (int i = 0; i < ROWS; i++) {
+            employees.add(new Employee(String.format("cmp%06d", i), "cmplogin" + i, "Name " + i, (double) (i % 4000), LocalDate.of(2020, 1, 1)));
+        }
+
+        final LoadResult servletPages;
+        final LoadResult servletStreams;
+        try (ConfigurableApplicationContext servlet = new SpringApplicationBuilder(EmployeeManagementApplication.class)
+                .properties("server.port=0", "spring.datasource.url=jdbc:h2:mem:comparisonServlet",
+                        "employee.listing.result-cache.enabled=false", "employee.listing.coalescing.enabled=false",
+                        "employee.lookup.cache.enabled=false")
+                .run()) {
+            servlet.getBean(EmployeeBatchRepository.class).insertAll(employees);
+            servletPages = pages(port(servlet));
+            servletStreams = streams(port(servlet));
+        }
+
+        final LoadResult reactivePages;
+        final LoadResult reactiveStreams;
+        try (ConfigurableApplicationContext reactive = new SpringApplicationBuilder(ReactiveEmployeeApplication.class)
+                .profiles("reactive")
+                .properties("server.port=0", "spring.r2dbc.url=r2dbc:h2:mem:///comparisonReactive;DB_CLOSE_DELAY=-1")
+                .run()) {
+            reactive.getBean(ReactiveEmployeeRepository.class).upsertAll(employees).block();
+            reactivePages = pages(port(reactive));
+            reactiveStreams = streams(port(reactive));
+        }
+
+        log.info("{} clients x {} pages of 20 over {} rows: servlet {} req/s p50 {} ms p99 {} ms, reactive {} req/s p50 {} ms p99 {} ms",
+                PAGE_CLIENTS, PAGES_PER_CLIENT, ROWS, servletPages.throughput(), servletPages.percentileMillis(50), servletPages.percentileMillis(99),
+                reactivePages.throughput(), reactivePages.percentileMillis(50), reactivePages.percentileMillis(99));
+        log.info("{} clients streaming all {} rows as ndjson: servlet p50 {} ms p99 {} ms, reactive p50 {} ms p99 {} ms",
+                STREAM_CLIENTS, ROWS, servletStreams.percentileMillis(50), servletStreams.percentileMillis(99),
+                reactiveStreams.percentileMillis(50), reactiveStreams.percentileMillis(99));
+        assertThat(servletPages.failures).isZero();
+        assertThat(reactivePages.failures).isZero();
+        assertThat(servletStreams.failures).isZero();
+        assertThat(reactiveStreams.failures).isZero();
+    }
+
+    private LoadResult pages(int port) throws Exception {
+        return load(PAGE_CLIENTS, PAGES_PER_CLIENT, request -> HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                + "/users?maxSalary=4000&limit=20&offset=" + ThreadLocalRandom.current().nextInt(ROWS / 2))).build(), -1);
+    }
+
+    private LoadResult streams(int port) throws Exception {
+        return load(STREAM_CLIENTS, 1, request -> HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users?maxSalary=4000"))
+                .header("Accept", "application/x-ndjson")
+                .build(), ROWS);
+    }
+
+    /**
+     * @param expectedLines the number of lines each response must have, {@literal -1} for any.
+     */
+    private LoadResult load(int clients, int requestsPerClient, IntFunction<HttpRequest> requests, int expectedLines) throws Exception {
+        final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        final long[] latencies = new long[clients * requestsPerClient];
+        final AtomicInteger failures = new AtomicInteger();
+        final CountDownLatch ready = new CountDownLatch(1);
+        final List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                final int clientIndex = c;
+                futures.add(executor.submit(() -> {
+                    ready.await();
+                    for (int r = 0; r < requestsPerClient; r++) {
+                        final long start = System.nanoTime();
+                        final HttpResponse<Stream<String>> response = client.send(requests.apply(r), HttpResponse.BodyHandlers.ofLines());
+                        final long lines = response.body().count();
+                        latencies[clientIndex * requestsPerClient + r] = System.nanoTime() - start;
+                        if (response.statusCode() != 200 || (expectedLines >= 0 && lines != expectedLines)) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            final long start = System.nanoTime();
+            ready.countDown();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.MINUTES);
+            }
+            return new LoadResult(System.nanoTime() - start, latencies, failures.get());
+        }
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getProperty("local.server.port", Integer.class);
+    }
+
+    private static class LoadResult {
+        private final long elapsedNanos;
+        private final long[] latencies;
+        private final int failures;
+
+        LoadResult(long elapsedNanos, long[] latencies, int failures) {
+            this.elapsedNanos = elapsedNanos;
+            this.latencies = latencies.clone();
+            this.failures = failures;
+            Arrays.sort(this.latencies);
+        }
+
+        long throughput() {
+            return latencies.length * 1_000_000_000L / elapsedNanos;
+        }
+
+        long percentileMillis(int percentile) {
+            return latencies[Math.min(latencies.length - 1, latencies.length * percentile / 100)] / 1_000_000;
+        }
+    }
+}
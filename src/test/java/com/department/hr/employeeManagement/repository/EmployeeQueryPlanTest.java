@@ -0,0 +1,72 @@
+package com.department.hr.employeeManagement.repository;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Captures the H2 plan of the listing query for each supported sort order, so that a dropped or unusable index
+ * shows up as a failing test instead of a slow endpoint.
+ */
+@Slf4j
+@SpringBootTest
+class EmployeeQueryPlanTest {
+
+    private static final int ROWS = 5_000;
+
+    @Autowired
+    private EmployeeRepository repository;
+
+    @Autowired
+    private EmployeeBatchRepository batchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        repository.deleteAllInBatch();
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            employees.add(new Employee("plan" + i, "planlogin" + i, "Name " + (i % 97), (double) (i % 8000), LocalDate.of(2000, 1, 1).plusDays(i % 3650)));
+        }
+        batchRepository.insertAll(employees);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterEach
+    void cleanup() {
+        repository.deleteAllInBatch();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "id ASC",
+            "salary ASC, id ASC",
+            "salary DESC, id ASC",
+            "start_date DESC, id ASC",
+            "name ASC, id ASC",
+            "salary ASC, start_date DESC, id ASC",
+            "start_date DESC, salary ASC, id ASC"
+    })
+    void listingQueryShouldUseAnIndex(String orderBy) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN SELECT id, login, name, salary, start_date FROM employee " +
+                "WHERE salary >= 1000.0 AND salary < 2000.0 ORDER BY " + orderBy + " LIMIT 10 OFFSET 20", String.class);
+        log.info("Plan for ORDER BY {}:\n{}", orderBy, plan);
+
+        assertThat(plan).doesNotContain("tableScan");
+        assertThat(plan).containsIgnoringCase("IDX_EMPLOYEE_");
+    }
+}
@@ -0,0 +1,134 @@
+package com.department.hr.employeeManagement.service;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.exceptions.BadInputException;
+import com.department.hr.employeeManagement.repository.EmployeeBatchRepository;
+import com.department.hr.employeeManagement.repository.EmployeeRepository;
+import com.department.hr.employeeManagement.vo.GroupCommitStats;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@Slf4j
+@SpringBootTest(properties = {"employee.create.group-commit.enabled=true", "employee.create.group-commit.window-millis=20"})
+class EmployeeGroupCommitTest {
+
+    private static final int REQUESTS = 400;
+
+    @Autowired
+    private EmployeeService service;
+
+    @Autowired
+    private EmployeeRepository repository;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setup() {
+        repository.deleteAllInBatch();
+        executor = Executors.newFixedThreadPool(50);
+    }
+
+    @AfterEach
+    void cleanup() {
+        executor.shutdownNow();
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void concurrentCreatesShouldShareCommitsAndKeepTheirOwnOutcome() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        List<String> errors = new CopyOnWriteArrayList<>();
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            // every tenth request reuses the login of the request before it
+            final String login = i % 10 == 9 ? "grouplogin" + (i - 1) : "grouplogin" + i;
+            final Employee employee = new Employee("group" + i, login, "Name", 1000d, LocalDate.of(2020, 1, 1));
+            futures.add(executor.submit(() -> {
+                ready.await();
+                try {
+                    service.createEmployee(employee);
+                    created.incrementAndGet();
+                } catch (BadInputException e) {
+                    errors.add(e.getMessage());
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+                return null;
+            }));
+        }
+        ready.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long nanos = System.nanoTime() - start;
+
+        GroupCommitStats stats = service.getGroupCommitStats();
+        log.info("{} concurrent creates in {} ms, {}", REQUESTS, nanos / 1_000_000, stats);
+        assertThat(created.get()).isEqualTo(REQUESTS - REQUESTS / 10);
+        assertThat(errors).hasSize(REQUESTS / 10).allMatch("Employee login not unique"::equals);
+        assertThat(repository.count()).isEqualTo(REQUESTS - REQUESTS / 10);
+        assertThat(stats.getBatches()).isLessThan(REQUESTS);
+    }
+
+    @Test
+    void timedOutCreatesShouldNeverBeCommitted() throws Exception {
+        EmployeeRepository blockingRepository = mock(EmployeeRepository.class);
+        EmployeeBatchRepository batchRepository = mock(EmployeeBatchRepository.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        CountDownLatch committing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(blockingRepository.findByIdInOrLoginIn(any(), any())).thenAnswer(invocation -> {
+            committing.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return Collections.emptyList();
+        });
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        EmployeeGroupCommitter committer = new EmployeeGroupCommitter(blockingRepository, batchRepository, transactionTemplate, true, 0, 1, 200);
+        committer.start();
+        try {
+            Employee first = new Employee("slow1", "slowlogin1", "Name", 1000d, LocalDate.of(2020, 1, 1));
+            Employee second = new Employee("slow2", "slowlogin2", "Name", 1000d, LocalDate.of(2020, 1, 1));
+            Future<?> firstCreate = executor.submit(() -> {
+                try {
+                    committer.create(first);
+                } catch (BadInputException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            committing.await(10, TimeUnit.SECONDS);
+
+            assertThrows(CancellationException.class, () -> committer.create(second));
+            release.countDown();
+            firstCreate.get(10, TimeUnit.SECONDS);
+        } finally {
+            committer.stop();
+        }
+
+        verify(batchRepository).insertAll(Collections.singletonList(new Employee("slow1", "slowlogin1", "Name", 1000d, LocalDate.of(2020, 1, 1))));
+        verifyNoMoreInteractions(batchRepository);
+    }
+}
@@ -0,0 +1,57 @@
+package com.department.hr.employeeManagement.service;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.exceptions.DuplicateDataException;
+import org.apache.commons.csv.CSVParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EmployeeIdSorterTest {
+
+    @Test
+    void shouldMergeRunsIntoASingleFileSortedById() throws IOException, DuplicateDataException {
+        List<Employee> employees = IntStream.range(0, 25)
+                .mapToObj(i -> new Employee("e" + i, "l" + i, "Name, " + i, i * 10.5, LocalDate.of(2020, 1, 1).plusDays(i)))
+                .collect(Collectors.toList());
+        Collections.shuffle(employees, new Random(42));
+
+        Path sorted;
+        List<Employee> result = new ArrayList<>();
+        try (EmployeeIdSorter sorter = new EmployeeIdSorter(4)) {
+            for (Employee employee : employees) {
+                sorter.add(employee);
+            }
+            sorted = sorter.finish();
+            try (CSVParser parser = EmployeeIdSorter.open(sorted)) {
+                EmployeeIdSorter.employees(parser).forEachRemaining(result::add);
+            }
+        }
+
+        List<Employee> expected = employees.stream().sorted(Comparator.comparing(Employee::getId)).collect(Collectors.toList());
+        assertThat(result).isEqualTo(expected);
+        assertFalse(Files.exists(sorted));
+    }
+
+    @Test
+    void shouldRejectDuplicateIdsAcrossRuns() throws IOException {
+        try (EmployeeIdSorter sorter = new EmployeeIdSorter(2)) {
+            sorter.add(new Employee("e1", "l1", "a", 1d, LocalDate.now()));
+            sorter.add(new Employee("e2", "l2", "b", 1d, LocalDate.now()));
+            sorter.add(new Employee("e1", "l3", "c", 1d, LocalDate.now()));
+
+            DuplicateDataException exception = assertThrows(DuplicateDataException.class, sorter::finish);
+            assertThat(exception.getMessage()).isEqualTo("Duplicate ids detected - [e1]");
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.department.hr.employeeManagement.service;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.vo.CacheStats;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeListingCacheTest {
+
+    private final EmployeeDataVersion dataVersion = new EmployeeDataVersion();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Supplier<List<Employee>> loader = () -> {
+        loads.incrementAndGet();
+        return Collections.singletonList(new Employee("e1", "l1", "Name", 10d, LocalDate.of(2020, 1, 1)));
+    };
+
+    @Test
+    void shouldServeRepeatedQueriesFromMemory() {
+        EmployeeListingCache cache = new EmployeeListingCache(dataVersion, true, 10, 60_000);
+
+        List<Employee> first = cache.get("0:100:0:10:id-asc", loader);
+        List<Employee> second = cache.get("0:100:0:10:id-asc", loader);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(loads.get()).isEqualTo(1);
+        CacheStats stats = cache.getStats();
+        assertThat(stats.getHits()).isEqualTo(1);
+        assertThat(stats.getMisses()).isEqualTo(1);
+        assertThat(stats.getSize()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotLetCallersChangeTheCachedListing() {
+        EmployeeListingCache cache = new EmployeeListingCache(dataVersion, true, 10, 60_000);
+
+        cache.get("a", loader).get(0).setName("Changed");
+        cache.get("a", loader).get(0).setName("Changed again");
+
+        assertThat(cache.get("a", loader).get(0).getName()).isEqualTo("Name");
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldDropEverythingOnceTheTableChanges() {
+        EmployeeListingCache cache = new EmployeeListingCache(dataVersion, true, 10, 60_000);
+        cache.get("a", loader);
+        cache.get("b", loader);
+
+        dataVersion.changed();
+        cache.get("a", loader);
+
+        assertThat(loads.get()).isEqualTo(3);
+        assertThat(cache.getStats().getInvalidations()).isEqualTo(1);
+        assertThat(cache.getStats().getSize()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedQuery() {
+        EmployeeListingCache cache = new EmployeeListingCache(dataVersion, true, 2, 60_000);
+        cache.get("a", loader);
+        cache.get("b", loader);
+        cache.get("a", loader);
+        cache.get("c", loader);
+        cache.get("a", loader);
+        cache.get("b", loader);
+
+        assertThat(loads.get()).isEqualTo(4);
+        assertThat(cache.getStats().getEvictions()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReloadExpiredQuery() {
+        EmployeeListingCache cache = new EmployeeListingCache(dataVersion, true, 10, 0);
+        cache.get("a", loader);
+        cache.get("a", loader);
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.getStats().getExpirations()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldAlwaysLoadWhenDisabled() {
+        EmployeeListingCache cache = new EmployeeListingCache(dataVersion, false, 10, 60_000);
+        cache.get("a", loader);
+        cache.get("a", loader);
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.getStats().getMisses()).isZero();
+    }
+}
@@ -0,0 +1,100 @@
+package com.department.hr.employeeManagement.service;
+
+import com.department.hr.employeeManagement.domain.OffsetBasedPageRequest;
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.repository.EmployeeBatchRepository;
+import com.department.hr.employeeManagement.repository.EmployeeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+class EmployeeListingLatencyTest {
+
+    private static final int ROWS = 50_000;
+    private static final int CALLS = 200;
+
+    @Autowired
+    private EmployeeService service;
+
+    @Autowired
+    private EmployeeRepository repository;
+
+    @Autowired
+    private EmployeeBatchRepository batchRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setup() {
+        repository.deleteAllInBatch();
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            employees.add(new Employee(String.format("lat%06d", i), "latlogin" + i, "Name " + i, (double) (i % 5000), LocalDate.of(2020, 1, 1)));
+        }
+        batchRepository.insertAll(employees);
+    }
+
+    @AfterEach
+    void cleanup() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void defaultPagedListingShouldSkipTheCountQuery() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Sort sort = Sort.by(Sort.Order.asc("id"));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            repository.findBySalaryGreaterThanEqualAndSalaryLessThan(0d, 4000d, new OffsetBasedPageRequest(i * 10, 10, sort)).getContent();
+        }
+        long pageNanos = (System.nanoTime() - start) / CALLS;
+
+        statistics.clear();
+        start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            service.fetchEmployees(0d, 4000d, i * 10, 10, "id-asc");
+        }
+        long listNanos = (System.nanoTime() - start) / CALLS;
+
+        log.info("Average latency of a page of 10 over {} rows: with count {} us, without count {} us", ROWS, pageNanos / 1000, listNanos / 1000);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(CALLS);
+    }
+
+    @Test
+    void projectedListingShouldBeSmallerThanFullListing() throws Throwable {
+        long start = System.nanoTime();
+        byte[] full = objectMapper.writeValueAsBytes(service.fetchEmployees(0d, 4000d, 0, 0, "id-asc"));
+        long fullNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        byte[] projected = objectMapper.writeValueAsBytes(service.fetchEmployeeFields(0d, 4000d, 0, 0, "id-asc", "id,name"));
+        long projectedNanos = System.nanoTime() - start;
+
+        log.info("Listing of {} rows: full {} bytes in {} ms, id and name only {} bytes in {} ms", ROWS, full.length, fullNanos / 1_000_000,
+                projected.length, projectedNanos / 1_000_000);
+        assertThat(projected.length).isLessThan(full.length);
+    }
+}
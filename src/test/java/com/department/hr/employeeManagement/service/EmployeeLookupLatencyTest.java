@@ -0,0 +1,79 @@
+package com.department.hr.employeeManagement.service;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.repository.EmployeeBatchRepository;
+import com.department.hr.employeeManagement.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+class EmployeeLookupLatencyTest {
+
+    private static final int ROWS = 20_000;
+    private static final int HOT_ROWS = 2_000;
+    private static final int LOOKUPS = 20_000;
+
+    @Autowired
+    private EmployeeRepository repository;
+
+    @Autowired
+    private EmployeeBatchRepository batchRepository;
+
+    @Autowired
+    private EmployeeDataVersion dataVersion;
+
+    @BeforeEach
+    void setup() {
+        repository.deleteAllInBatch();
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            employees.add(new Employee(String.format("look%06d", i), "looklogin" + i, "Name " + i, (double) (i % 5000), LocalDate.of(2020, 1, 1)));
+        }
+        batchRepository.insertAll(employees);
+    }
+
+    @AfterEach
+    void cleanup() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void nearCacheShouldAnswerRepeatedLookupsFromMemory() {
+        EmployeeNearCache disabled = new EmployeeNearCache(dataVersion, false, HOT_ROWS, 60_000);
+        EmployeeNearCache enabled = new EmployeeNearCache(dataVersion, true, HOT_ROWS, 60_000);
+
+        long p99Off = p99(disabled);
+        long p99On = p99(enabled);
+
+        log.info("p99 latency of {} lookups by id over {} hot rows: cache off {} us, cache on {} us, {}", LOOKUPS, HOT_ROWS, p99Off / 1000, p99On / 1000, enabled.getStats());
+        assertThat(enabled.getStats().getMisses()).isLessThanOrEqualTo(HOT_ROWS);
+    }
+
+    private long p99(EmployeeNearCache cache) {
+        Random random = new Random(11);
+        long[] nanos = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            String id = String.format("look%06d", random.nextInt(HOT_ROWS));
+            long start = System.nanoTime();
+            cache.findById(id, repository::findById);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[(int) (LOOKUPS * 0.99)];
+    }
+}
@@ -0,0 +1,122 @@
+package com.department.hr.employeeManagement.service;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeNearCacheTest {
+
+    private final EmployeeDataVersion dataVersion = new EmployeeDataVersion();
+
+    private final Map<String, Employee> table = new HashMap<>();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Function<String, Optional<Employee>> byId = id -> {
+        loads.incrementAndGet();
+        return Optional.ofNullable(table.get(id));
+    };
+
+    private final Function<String, Optional<String>> byLogin = login -> {
+        loads.incrementAndGet();
+        return table.values().stream().filter(e -> e.getLogin().equals(login)).map(Employee::getId).findFirst();
+    };
+
+    @Test
+    void shouldRememberFoundAndMissingEmployees() {
+        EmployeeNearCache cache = new EmployeeNearCache(dataVersion, true, 100, 60_000);
+        table.put("e1", new Employee("e1", "l1", "One", 10d, LocalDate.of(2020, 1, 1)));
+
+        assertThat(cache.findById("e1", byId)).map(Employee::getLogin).contains("l1");
+        assertThat(cache.findById("e1", byId)).isPresent();
+        assertThat(cache.findById("e2", byId)).isEmpty();
+        assertThat(cache.findById("e2", byId)).isEmpty();
+        assertThat(cache.findIdByLogin("l1", byLogin)).contains("e1");
+        assertThat(cache.findIdByLogin("l1", byLogin)).contains("e1");
+
+        assertThat(loads.get()).isEqualTo(3);
+        assertThat(cache.getStats().getHits()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldWriteThroughSingleEmployeeChanges() {
+        EmployeeNearCache cache = new EmployeeNearCache(dataVersion, true, 100, 60_000);
+        Employee employee = new Employee("e1", "l1", "One", 10d, LocalDate.of(2020, 1, 1));
+        assertThat(cache.findById("e1", byId)).isEmpty();
+        assertThat(cache.findIdByLogin("l1", byLogin)).isEmpty();
+
+        cache.saved(employee, null, dataVersion.changed());
+        assertThat(cache.findById("e1", byId)).map(Employee::getName).contains("One");
+        assertThat(cache.findIdByLogin("l1", byLogin)).contains("e1");
+
+        Employee renamed = new Employee("e1", "l2", "One", 10d, LocalDate.of(2020, 1, 1));
+        cache.saved(renamed, "l1", dataVersion.changed());
+        assertThat(cache.findIdByLogin("l1", byLogin)).isEmpty();
+        assertThat(cache.findIdByLogin("l2", byLogin)).contains("e1");
+
+        cache.deleted("e1", dataVersion.changed());
+        assertThat(cache.findById("e1", byId)).isEmpty();
+        assertThat(cache.findIdByLogin("l2", byLogin)).isEmpty();
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldForgetThePreviousLoginOfAnUpdatedEmployee() {
+        EmployeeNearCache cache = new EmployeeNearCache(dataVersion, true, 100, 60_000);
+        table.put("e1", new Employee("e1", "l1", "One", 10d, LocalDate.of(2020, 1, 1)));
+        assertThat(cache.findIdByLogin("l1", byLogin)).contains("e1");
+
+        table.put("e1", new Employee("e1", "l2", "One", 10d, LocalDate.of(2020, 1, 1)));
+        cache.updated(table.get("e1"), dataVersion.changed());
+
+        assertThat(cache.findIdByLogin("l1", byLogin)).isEmpty();
+        assertThat(cache.findIdByLogin("l2", byLogin)).contains("e1");
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldForgetEverythingAfterOtherWrites() {
+        EmployeeNearCache cache = new EmployeeNearCache(dataVersion, true, 100, 60_000);
+        assertThat(cache.findById("e1", byId)).isEmpty();
+
+        table.put("e1", new Employee("e1", "l1", "One", 10d, LocalDate.of(2020, 1, 1)));
+        dataVersion.changed();
+
+        assertThat(cache.findById("e1", byId)).isPresent();
+        assertThat(cache.getStats().getInvalidations()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldStayWithinMaxEntries() {
+        EmployeeNearCache cache = new EmployeeNearCache(dataVersion, true, 10, 60_000);
+        for (int i = 0; i < 50; i++) {
+            cache.findById("e" + i, byId);
+        }
+
+        assertThat(cache.getStats().getSize()).isEqualTo(10);
+        assertThat(cache.getStats().getEvictions()).isEqualTo(40);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEmployee() {
+        EmployeeNearCache cache = new EmployeeNearCache(dataVersion, true, 2, 60_000);
+        cache.findById("e1", byId);
+        cache.findById("e2", byId);
+        cache.findById("e1", byId);
+        cache.findById("e3", byId);
+        cache.findById("e1", byId);
+        cache.findById("e2", byId);
+
+        assertThat(loads.get()).isEqualTo(4);
+        assertThat(cache.getStats().getEvictions()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,62 @@
+package com.department.hr.employeeManagement.service;
+
+import com.department.hr.employeeManagement.repository.EmployeeRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class EmployeeServiceStatementCountTest {
+
+    private static final int ROWS = 10_000;
+    private static final int BATCH_SIZE = 50;
+    private static final int ID_LOOKUP_SIZE = 1000;
+
+    @Autowired
+    private EmployeeService service;
+
+    @Autowired
+    private EmployeeRepository repository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setup() {
+        repository.deleteAllInBatch();
+    }
+
+    @AfterEach
+    void cleanup() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void uploadShouldInsertNewEmployeesInBatchesWithoutSelectingEachRow() throws Throwable {
+        StringBuilder content = new StringBuilder("id,login,name,salary,startDate\n");
+        for (int i = 0; i < ROWS; i++) {
+            content.append("bulk").append(i).append(",bulklogin").append(i).append(",Name ").append(i).append(",1000,2020-01-01\n");
+        }
+        MockMultipartFile file = new MockMultipartFile("file", "bulk.csv", "text/csv", content.toString().getBytes());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        service.uploadData(file);
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        // one id lookup per 1000 rows and at most one insert statement per jdbc batch
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(ROWS / ID_LOOKUP_SIZE + ROWS / BATCH_SIZE);
+        assertThat(repository.count()).isEqualTo(ROWS);
+    }
+}
@@ -6,6 +6,7 @@ import com.department.hr.employeeManagement.entity.Employee;
 import com.department.hr.employeeManagement.exceptions.BadInputException;
 import com.department.hr.employeeManagement.exceptions.InvalidFieldException;
 import com.department.hr.employeeManagement.input.UpdateEmployee;
+import com.department.hr.employeeManagement.repository.EmployeeBatchRepository;
 import com.department.hr.employeeManagement.repository.EmployeeRepository;
 import com.department.hr.employeeManagement.validators.EmployeeValidator;
 import org.apache.commons.csv.CSVRecord;
@@ -14,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -39,6 +41,30 @@ class EmployeeServiceTest {
     @Mock
     EmployeeRepository repository;
 
+    @Mock
+    EmployeeBatchRepository batchRepository;
+
+    @Mock
+    EmployeeDataVersion dataVersion;
+
+    @Mock
+    EmployeeSnapshotEngine snapshotEngine;
+
+    @Spy
+    EmployeeListingCache listingCache = new EmployeeListingCache(new EmployeeDataVersion(), false, 0, 0);
+
+    @Spy
+    EmployeeNearCache nearCache = new EmployeeNearCache(new EmployeeDataVersion(), false, 0, 0);
+
+    @Spy
+    EmployeeExistenceFilter existenceFilter = new EmployeeExistenceFilter(null, new EmployeeDataVersion(), false, 0, 0.01, 0.2);
+
+    @Spy
+    EmployeeGroupCommitter groupCommitter = new EmployeeGroupCommitter(null, null, null, false, 0, 0, 0);
+
+    @Spy
+    ListingQueryCoalescer queryCoalescer = new ListingQueryCoalescer(true);
+
     @InjectMocks
     EmployeeService service;
 
@@ -92,7 +118,7 @@ class EmployeeServiceTest {
         final ArgumentCaptor<Double> maxSalaryArgCaptor = ArgumentCaptor.forClass(Double.class);
         final ArgumentCaptor<Pageable> pageableArgumentCaptor = ArgumentCaptor.forClass(Pageable.class);
 
-        verify(repository).findBySalaryGreaterThanEqualAndSalaryLessThan(minSalaryArgCaptor.capture(), maxSalaryArgCaptor.capture(), pageableArgumentCaptor.capture());
+        verify(repository).findAllBySalaryGreaterThanEqualAndSalaryLessThan(minSalaryArgCaptor.capture(), maxSalaryArgCaptor.capture(), pageableArgumentCaptor.capture());
 
         assertEquals(1d, minSalaryArgCaptor.getValue());
         assertEquals(3000d, maxSalaryArgCaptor.getValue());
@@ -108,19 +134,36 @@ class EmployeeServiceTest {
         final ArgumentCaptor<Double> maxSalaryArgCaptor = ArgumentCaptor.forClass(Double.class);
         final ArgumentCaptor<Pageable> pageableArgumentCaptor = ArgumentCaptor.forClass(Pageable.class);
 
-        verify(repository).findBySalaryGreaterThanEqualAndSalaryLessThan(minSalaryArgCaptor.capture(), maxSalaryArgCaptor.capture(), pageableArgumentCaptor.capture());
+        verify(repository).findAllBySalaryGreaterThanEqualAndSalaryLessThan(minSalaryArgCaptor.capture(), maxSalaryArgCaptor.capture(), pageableArgumentCaptor.capture());
 
         assertEquals(SortedUnpaged.class, pageableArgumentCaptor.getValue().getClass());
 
     }
 
+    @Test
+    void shouldNotRunACountQueryWhenFetchingAPage() {
+        service.fetchEmployees(1d, 3000d, 4, 2, "id-asc");
+
+        verify(repository).findAllBySalaryGreaterThanEqualAndSalaryLessThan(eq(1d), eq(3000d), any(Pageable.class));
+        verify(repository, never()).findBySalaryGreaterThanEqualAndSalaryLessThan(any(), any(), any());
+        verify(repository, never()).countBySalaryGreaterThanEqualAndSalaryLessThan(any(), any());
+    }
+
+    @Test
+    void shouldOnlyCoalesceListingsOfTheSameDataGeneration() {
+        when(dataVersion.current()).thenReturn(7L);
+        service.fetchEmployees(1d, 3000d, 4, 2, "id-asc");
+
+        verify(queryCoalescer).get(startsWith("7@"), any());
+    }
+
     @Test
     void shouldThrowBadInputExceptionWhenLoginIsNotUnique() {
         Employee employee = new Employee("e1", "uniqueLogin", "new name", 345d, LocalDate.now());
         UpdateEmployee updateEmployee = new UpdateEmployee("duplicateLogin", "new name", 345d, LocalDate.now());
 
         when(repository.findById(eq("e1"))).thenReturn(Optional.of(employee));
-        when(repository.existsByLogin(eq("duplicateLogin"))).thenReturn(true);
+        when(repository.findIdByLogin(eq("duplicateLogin"))).thenReturn(Optional.of("e2"));
         assertThrows(BadInputException.class, () -> service.updateEmployee("e1", updateEmployee));
     }
 
@@ -132,4 +175,13 @@ class EmployeeServiceTest {
         service.updateEmployee("e1", updateEmployee);
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldNotRunADeleteForAnIdTheExistenceFilterRulesOut() {
+        doReturn(false).when(existenceFilter).mightContainId("e9");
+
+        BadInputException e = assertThrows(BadInputException.class, () -> service.deleteEmployee("e9"));
+
+        assertEquals("No such employee", e.getMessage());
+        verifyNoInteractions(batchRepository);
+    }
+}
@@ -0,0 +1,125 @@
+package com.department.hr.employeeManagement.service;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.exceptions.BadInputException;
+import com.department.hr.employeeManagement.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@SpringBootTest
+class EmployeeWriteConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int EMPLOYEES_PER_THREAD = 500;
+
+    @Autowired
+    private EmployeeService service;
+
+    @Autowired
+    private EmployeeRepository repository;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setup() {
+        repository.deleteAllInBatch();
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void cleanup() {
+        executor.shutdownNow();
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    @Tag("benchmark")
+    void concurrentCreatesAndDeletesShouldEachTakeOneStatement() throws Exception {
+        long start = System.nanoTime();
+        run(thread -> {
+            for (int i = 0; i < EMPLOYEES_PER_THREAD; i++) {
+                service.createEmployee(employee("con" + thread + "x" + i, "conlogin" + thread + "x" + i));
+            }
+        });
+        long createNanos = System.nanoTime() - start;
+        assertThat(repository.count()).isEqualTo(THREADS * EMPLOYEES_PER_THREAD);
+
+        start = System.nanoTime();
+        run(thread -> {
+            for (int i = 0; i < EMPLOYEES_PER_THREAD; i++) {
+                service.deleteEmployee("con" + thread + "x" + i);
+            }
+        });
+        long deleteNanos = System.nanoTime() - start;
+
+        int operations = THREADS * EMPLOYEES_PER_THREAD;
+        log.info("{} threads: {} creates/s, {} deletes/s", THREADS, operations * 1_000_000_000L / createNanos, operations * 1_000_000_000L / deleteNanos);
+        assertThat(repository.count()).isZero();
+    }
+
+    @Test
+    void racingCreatesOfTheSameEmployeeShouldLetExactlyOneWin() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger idTaken = new AtomicInteger();
+        AtomicInteger loginTaken = new AtomicInteger();
+        run(thread -> {
+            try {
+                service.createEmployee(employee("race1", thread % 2 == 0 ? "racelogin" : "racelogin" + thread));
+                created.incrementAndGet();
+            } catch (BadInputException e) {
+                if (e.getMessage().equals("Employee ID already exists")) {
+                    idTaken.incrementAndGet();
+                } else {
+                    loginTaken.incrementAndGet();
+                }
+            }
+        });
+
+        assertThat(created.get()).isEqualTo(1);
+        assertThat(idTaken.get() + loginTaken.get()).isEqualTo(THREADS - 1);
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    private Employee employee(String id, String login) {
+        return new Employee(id, login, "Name", 1000d, LocalDate.of(2020, 1, 1));
+    }
+
+    private void run(ThreadTask task) throws Exception {
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            futures.add(executor.submit(() -> {
+                ready.await();
+                try {
+                    task.run(thread);
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+                return null;
+            }));
+        }
+        ready.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+    }
+
+    private interface ThreadTask {
+        void run(int thread) throws Throwable;
+    }
+}
@@ -0,0 +1,105 @@
+package com.department.hr.employeeManagement.service;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.vo.CoalescingStats;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ListingQueryCoalescerTest {
+
+    private static final int CALLERS = 20;
+
+    private final List<Employee> employees = Collections.singletonList(new Employee("e1", "l1", "One", 10d, LocalDate.of(2020, 1, 1)));
+
+    @Test
+    void shouldRunConcurrentIdenticalQueriesOnce() throws Exception {
+        ListingQueryCoalescer coalescer = new ListingQueryCoalescer(true);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<List<Employee>>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> coalescer.get("0:4000:0:0:id-asc", () -> {
+                    executions.incrementAndGet();
+                    queryStarted.countDown();
+                    await(release);
+                    return employees;
+                })));
+            }
+            queryStarted.await(10, TimeUnit.SECONDS);
+            while (coalescer.getStats().getCalls() < CALLERS) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+            Set<Employee> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Future<List<Employee>> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo(employees);
+                instances.add(result.get().get(0));
+            }
+            assertThat(instances).hasSize(CALLERS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        CoalescingStats stats = coalescer.getStats();
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(stats.getCoalesced()).isEqualTo(CALLERS - 1);
+        assertThat(stats.getExecutions()).isEqualTo(1);
+        assertThat(stats.getInFlight()).isZero();
+    }
+
+    @Test
+    void shouldRunQueriesAgainOnceCompleted() {
+        ListingQueryCoalescer coalescer = new ListingQueryCoalescer(true);
+        AtomicInteger executions = new AtomicInteger();
+        coalescer.get("a", () -> {
+            executions.incrementAndGet();
+            return employees;
+        });
+        coalescer.get("a", () -> {
+            executions.incrementAndGet();
+            return employees;
+        });
+
+        assertThat(executions.get()).isEqualTo(2);
+        assertThat(coalescer.getStats().getCoalesced()).isZero();
+    }
+
+    @Test
+    void shouldPassFailuresOnAndForgetThem() {
+        ListingQueryCoalescer coalescer = new ListingQueryCoalescer(true);
+        assertThrows(IllegalStateException.class, () -> coalescer.get("a", () -> {
+            throw new IllegalStateException("query failed");
+        }));
+        assertThat(coalescer.get("a", () -> employees)).isEqualTo(employees);
+    }
+
+    @Test
+    void shouldShareAnUnmodifiableResult() {
+        ListingQueryCoalescer coalescer = new ListingQueryCoalescer(true);
+        List<Employee> result = coalescer.get("a", () -> new ArrayList<>(employees));
+
+        assertThrows(UnsupportedOperationException.class, () -> result.add(employees.get(0)));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
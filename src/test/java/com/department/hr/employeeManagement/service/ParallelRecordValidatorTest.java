@@ -0,0 +1,90 @@
+package com.department.hr.employeeManagement.service;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.exceptions.InvalidFieldException;
+import com.department.hr.employeeManagement.validators.EmployeeValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Slf4j
+class ParallelRecordValidatorTest {
+
+    private static final int ROWS = 200_000;
+
+    CsvEmployeeReader reader = new CsvEmployeeReader(new EmployeeValidator());
+
+    ParallelRecordValidator parallelValidator = new ParallelRecordValidator(reader, 4, 1000);
+
+    @AfterEach
+    void shutdown() {
+        parallelValidator.shutdown();
+    }
+
+    @Test
+    void shouldKeepFileOrderAndMatchSequentialValidation() throws IOException, InvalidFieldException {
+        List<CSVRecord> records = parse(csv(10_000, -1));
+
+        assertThat(parallelValidator.toEmployees(records)).isEqualTo(sequential(records));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void shouldValidateFasterThanSequentially() throws IOException, InvalidFieldException {
+        List<CSVRecord> records = parse(csv(ROWS, -1));
+
+        long start = System.nanoTime();
+        List<Employee> sequential = sequential(records);
+        long sequentialNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        List<Employee> parallel = parallelValidator.toEmployees(records);
+        long parallelNanos = System.nanoTime() - start;
+
+        log.info("Validated {} records: sequential {} records/s, parallel {} records/s", ROWS,
+                ROWS * 1_000_000_000L / sequentialNanos, ROWS * 1_000_000_000L / parallelNanos);
+        assertThat(parallel).isEqualTo(sequential);
+    }
+
+    @Test
+    void shouldReportTheEarliestInvalidRow() throws IOException {
+        List<CSVRecord> records = parse(csv(10_000, 4321));
+
+        InvalidFieldException exception = assertThrows(InvalidFieldException.class, () -> parallelValidator.toEmployees(records));
+        assertThat(exception.getMessage()).isEqualTo("Invalid salary -1.0, salary should be greater than 0");
+    }
+
+    private List<Employee> sequential(List<CSVRecord> records) throws InvalidFieldException {
+        List<Employee> employees = new ArrayList<>(records.size());
+        for (CSVRecord record : records) {
+            employees.add(reader.toEmployee(record));
+        }
+        return employees;
+    }
+
+    private String csv(int rows, int invalidFrom) {
+        StringBuilder content = new StringBuilder("id,login,name,salary,startDate\n");
+        for (int i = 0; i < rows; i++) {
+            String salary = invalidFrom >= 0 && i >= invalidFrom ? String.valueOf(-1 - i + invalidFrom) : "1234.5";
+            content.append("e").append(i).append(",l").append(i).append(",Name ").append(i).append(",").append(salary).append(",16-Nov-01\n");
+        }
+        return content.toString();
+    }
+
+    private List<CSVRecord> parse(String content) throws IOException {
+        try (CSVParser parser = new CSVParser(new StringReader(content), CsvEmployeeReader.CSV_FORMAT)) {
+            return parser.getRecords();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.department.hr.employeeManagement.service;
+
+import com.department.hr.employeeManagement.validators.EmployeeValidator;
+import com.department.hr.employeeManagement.vo.UploadSummary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.InputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class UploadJobServiceTest {
+
+    @Mock
+    EmployeeValidator validator;
+
+    @Mock
+    EmployeeUploadService uploadService;
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private UploadJobService service;
+
+    @BeforeEach
+    void setup() throws Exception {
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return new UploadSummary();
+        }).when(uploadService).uploadInChunks(any(InputStream.class), any());
+        service = new UploadJobService(validator, uploadService, 1, 1, 100, false);
+    }
+
+    @AfterEach
+    void cleanup() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void shouldRejectJobsOnceTheQueueIsFull() throws Throwable {
+        service.submit(file());
+        started.await(10, TimeUnit.SECONDS);
+        service.submit(file());
+
+        RejectedExecutionException e = assertThrows(RejectedExecutionException.class, () -> service.submit(file()));
+
+        assertThat(e.getMessage()).isEqualTo(UploadJobService.TOO_MANY_JOBS);
+        assertThat(service.getStatuses()).hasSize(2);
+    }
+
+    private static MockMultipartFile file() {
+        return new MockMultipartFile("file", "hello.txt", "text/csv", "id,login,name,salary,startDate\n".getBytes());
+    }
+}
@@ -0,0 +1,58 @@
+package com.department.hr.employeeManagement.validators;
+
+import com.department.hr.employeeManagement.entity.Employee;
+import com.department.hr.employeeManagement.vo.DuplicateReport;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DuplicateRecordDetectorTest {
+
+    DuplicateRecordDetector detector = new DuplicateRecordDetector();
+
+    @Test
+    void shouldReportNoDuplicatesWhenIdsAndLoginsAreUnique() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            employees.add(employee("e" + i, "login" + i));
+        }
+        assertFalse(detector.detect(employees).hasDuplicates());
+    }
+
+    @Test
+    void shouldReportRowsOfFirstOccurrenceAndEachDuplicateForIdsAndLogins() {
+        List<Employee> employees = Arrays.asList(
+                employee("e1", "j1"),
+                employee("e2", "h1"),
+                employee("e1", "h1"),
+                employee("e3", "hy"),
+                employee("e1", "zz"));
+
+        DuplicateReport report = detector.detect(employees);
+
+        assertTrue(report.hasDuplicates());
+        assertThat(report.getDuplicateIds()).containsOnlyKeys("e1");
+        assertThat(report.getDuplicateIds().get("e1")).containsExactly(1L, 3L, 5L);
+        assertThat(report.getDuplicateLogins()).containsOnlyKeys("h1");
+        assertThat(report.getDuplicateLogins().get("h1")).containsExactly(2L, 3L);
+        assertThat(report.describe()).isEqualTo("Duplicate ids detected - [e1 (rows 1, 3, 5)]; Duplicate login ids detected - [h1 (rows 2, 3)]");
+    }
+
+    @Test
+    void shouldTellApartKeysWithCollidingHashCodes() {
+        // "Aa" and "BB" share the same String.hashCode()
+        List<Employee> employees = Arrays.asList(employee("Aa", "l1"), employee("BB", "l2"));
+        assertFalse(detector.detect(employees).hasDuplicates());
+    }
+
+    private Employee employee(String id, String login) {
+        return new Employee(id, login, "name", 100d, LocalDate.of(2020, 1, 1));
+    }
+}